@@ -1,14 +1,25 @@
 package com.Custom.Snackbar;
 
 import android.app.Activity;
-import android.content.Intent;
+import android.app.Application;
+import android.content.Context;
+import android.util.TypedValue;
 import android.view.View;
-import android.widget.TextView;
-
-import androidx.core.content.ContextCompat;
 
 import com.google.android.material.snackbar.Snackbar;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Static entry point for showing styled Material snackbars.
+ * <p>
+ * Every {@code showSnackbar*} method may be called from any thread. Calls made off the main
+ * thread are handed over lock-free and applied together on the next frame.
+ */
 public class CustomSnackbar {
 
     // Default values
@@ -17,6 +28,19 @@ public class CustomSnackbar {
     private static final int DEFAULT_BACKGROUND_COLOR = 0xFF4CAF50;
     private static final int DEFAULT_DURATION = Snackbar.LENGTH_SHORT;
 
+    private static final SnackbarRenderer RENDERER = new SnackbarRenderer();
+    private static final SnackbarQueue QUEUE = createQueue();
+    private static final SnackbarPipeline PIPELINE = new SnackbarPipeline(QUEUE);
+    private static final ForegroundActivityTracker FOREGROUND = new ForegroundActivityTracker(QUEUE);
+    private static final UndoBuffer UNDO = new UndoBuffer();
+    // Styles for the *Resources overloads, one per combination of resource IDs in use
+    private static final SnackbarStyle[] RESOURCE_STYLES = new SnackbarStyle[8];
+    private static int nextResourceStyle;
+    private static volatile boolean installed;
+    private static volatile SnackbarRateLimiter rateLimiter;
+    private static volatile SnackbarHistory history;
+    private static final FrameBatchDispatcher<SnackbarRequest> DISPATCHER = createDispatcher();
+
     /**
      * Show snackbar with default styling
      */
@@ -71,18 +95,8 @@ public class CustomSnackbar {
      * @param duration            Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
      */
     public static void showSnackbarWithResources(Activity activity, String message, int textSize, int textColorRes, int backgroundColorRes, int duration) {
-        View rootView = activity.getWindow().getDecorView().findViewById(android.R.id.content);
-        Snackbar snackbar = Snackbar.make(rootView, message, duration);
-        View snackbarView = snackbar.getView();
-
-        // Customizing Snackbar
-        TextView textView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_text);
-        textView.setTextColor(ContextCompat.getColor(activity, textColorRes));
-        textView.setTextSize(textSize);
-        textView.setMaxLines(10); // Allow multiple lines
-        snackbarView.setBackgroundColor(ContextCompat.getColor(activity, backgroundColorRes));
-
-        snackbar.show();
+        submit(SnackbarRequest.obtain(activity, message,
+                resourceStyle(textSize, textColorRes, backgroundColorRes, 0, 0).resolve(activity), duration));
     }
 
     /**
@@ -109,18 +123,8 @@ public class CustomSnackbar {
      * @param duration              Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
      */
     public static void showSnackbarWithColor(Activity activity, String message, int textSize, int textColor, int backgroundColor, int duration) {
-        View rootView = activity.getWindow().getDecorView().findViewById(android.R.id.content);
-        Snackbar snackbar = Snackbar.make(rootView, message, duration);
-        View snackbarView = snackbar.getView();
-
-        // Customizing Snackbar
-        TextView textView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_text);
-        textView.setTextColor(textColor);
-        textView.setTextSize(textSize);
-        textView.setMaxLines(10); // Allow multiple lines
-        snackbarView.setBackgroundColor(backgroundColor);
-
-        snackbar.show();
+        submit(SnackbarRequest.obtain(activity, message, spToPx(activity, textSize), textColor, backgroundColor,
+                SnackbarStyle.DEFAULT_MAX_LINES, duration));
     }
 
     // ========== WITH ACTION BUTTON ==========
@@ -196,38 +200,9 @@ public class CustomSnackbar {
     public static void showSnackbarWithAction(Activity activity, String message, int textSize, int textColor,
                                               int backgroundColor, int actionColor, int actionBgColor, String actionText,
                                               View.OnClickListener clickListener, int duration) {
-        View rootView = activity.getWindow().getDecorView().findViewById(android.R.id.content);
-        Snackbar snackbar = Snackbar.make(rootView, message, duration);
-        View snackbarView = snackbar.getView();
-
-        // Customizing Snackbar
-        TextView textView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_text);
-        textView.setTextColor(textColor);
-        textView.setTextSize(textSize);
-        textView.setMaxLines(10); // Allow multiple lines
-        snackbarView.setBackgroundColor(backgroundColor);
-
-        // Set action button
-        snackbar.setActionTextColor(actionColor);
-        snackbar.setAction(actionText, clickListener);
-
-        // Set action button background color if specified
-        if (actionBgColor != 0) {
-            snackbar.addCallback(new Snackbar.Callback() {
-                @Override
-                public void onShown(Snackbar sb) {
-                    View actionView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_action);
-                    if (actionView != null) {
-                        actionView.setBackgroundColor(actionBgColor);
-                        // Add padding for better appearance
-                        int px = (int) (8 * activity.getResources().getDisplayMetrics().density);
-                        actionView.setPadding(px, px / 2, px, px / 2);
-                    }
-                }
-            });
-        }
-
-        snackbar.show();
+        submit(SnackbarRequest.obtain(activity, message, spToPx(activity, textSize), textColor, backgroundColor,
+                SnackbarStyle.DEFAULT_MAX_LINES, duration)
+                .setAction(actionText, actionColor, actionBgColor, clickListener, null));
     }
 
     /**
@@ -278,39 +253,9 @@ public class CustomSnackbar {
     public static void showSnackbarWithActionResources(Activity activity, String message, int textSize, int textColorRes,
                                                         int backgroundColorRes, int actionColorRes, int actionBgColorRes, String actionText,
                                                         View.OnClickListener clickListener, int duration) {
-        View rootView = activity.getWindow().getDecorView().findViewById(android.R.id.content);
-        Snackbar snackbar = Snackbar.make(rootView, message, duration);
-        View snackbarView = snackbar.getView();
-
-        // Customizing Snackbar
-        TextView textView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_text);
-        textView.setTextColor(ContextCompat.getColor(activity, textColorRes));
-        textView.setTextSize(textSize);
-        textView.setMaxLines(10); // Allow multiple lines
-        snackbarView.setBackgroundColor(ContextCompat.getColor(activity, backgroundColorRes));
-
-        // Set action button
-        snackbar.setActionTextColor(ContextCompat.getColor(activity, actionColorRes));
-        snackbar.setAction(actionText, clickListener);
-
-        // Set action button background color if specified
-        if (actionBgColorRes != 0) {
-            final int bgColor = ContextCompat.getColor(activity, actionBgColorRes);
-            snackbar.addCallback(new Snackbar.Callback() {
-                @Override
-                public void onShown(Snackbar sb) {
-                    View actionView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_action);
-                    if (actionView != null) {
-                        actionView.setBackgroundColor(bgColor);
-                        // Add padding for better appearance
-                        int px = (int) (8 * activity.getResources().getDisplayMetrics().density);
-                        actionView.setPadding(px, px / 2, px, px / 2);
-                    }
-                }
-            });
-        }
-
-        snackbar.show();
+        SnackbarStyle style = resourceStyle(textSize, textColorRes, backgroundColorRes, actionColorRes, actionBgColorRes);
+        submit(SnackbarRequest.obtain(activity, message, style.resolve(activity), duration)
+                .setAction(actionText, clickListener, null));
     }
 
     /**
@@ -372,44 +317,619 @@ public class CustomSnackbar {
     public static void showSnackbarWithAction(Activity activity, String message, int textSize, int textColor,
                                               int backgroundColor, int actionColor, int actionBgColor, String actionText,
                                               final Class<?> targetActivity, int duration) {
-        View rootView = activity.getWindow().getDecorView().findViewById(android.R.id.content);
-        final Snackbar snackbar = Snackbar.make(rootView, message, duration);
-        View snackbarView = snackbar.getView();
-
-        // Customizing Snackbar
-        TextView textView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_text);
-        textView.setTextColor(textColor);
-        textView.setTextSize(textSize);
-        textView.setMaxLines(10); // Allow multiple lines
-        snackbarView.setBackgroundColor(backgroundColor);
-
-        // Set action button with Intent
-        snackbar.setActionTextColor(actionColor);
-        snackbar.setAction(actionText, new View.OnClickListener() {
-            @Override
-            public void onClick(View view) {
-                Intent intent = new Intent(activity, targetActivity);
-                activity.startActivity(intent);
-                snackbar.dismiss();
+        submit(SnackbarRequest.obtain(activity, message, spToPx(activity, textSize), textColor, backgroundColor,
+                SnackbarStyle.DEFAULT_MAX_LINES, duration)
+                .setAction(actionText, actionColor, actionBgColor, null, targetActivity));
+    }
+
+    // ========== WITH STYLE ==========
+
+    /**
+     * Show snackbar with a prepared style
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     */
+    public static void showSnackbar(Activity activity, String message, SnackbarStyle style) {
+        showSnackbar(activity, message, style, DEFAULT_DURATION);
+    }
+
+    /**
+     * Show snackbar with a prepared style and custom duration
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbar(Activity activity, String message, SnackbarStyle style, int duration) {
+        showSnackbar(activity, message, style, duration, SnackbarPriority.NORMAL);
+    }
+
+    /**
+     * Show snackbar with a prepared style, custom duration and priority
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     * @param priority HIGH shortens and CRITICAL dismisses a lower-priority snackbar on screen
+     */
+    public static void showSnackbar(Activity activity, String message, SnackbarStyle style, int duration,
+                                    SnackbarPriority priority) {
+        submit(SnackbarRequest.obtain(activity, message, style.resolve(activity), duration)
+                .setPriority(priority));
+    }
+
+    /**
+     * Show snackbar with a prepared style and an action button
+     *
+     * @param style         Style built once with {@link SnackbarStyle#builder()}
+     * @param actionText    Text for the action button
+     * @param clickListener Click listener for the action button
+     * @param duration      Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbarWithAction(Activity activity, String message, SnackbarStyle style, String actionText,
+                                              View.OnClickListener clickListener, int duration) {
+        showSnackbarWithAction(activity, message, style, actionText, clickListener, duration, SnackbarPriority.NORMAL);
+    }
+
+    /**
+     * Show snackbar with a prepared style, an action button and a priority
+     *
+     * @param style         Style built once with {@link SnackbarStyle#builder()}
+     * @param actionText    Text for the action button
+     * @param clickListener Click listener for the action button
+     * @param duration      Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     * @param priority      HIGH shortens and CRITICAL dismisses a lower-priority snackbar on screen
+     */
+    public static void showSnackbarWithAction(Activity activity, String message, SnackbarStyle style, String actionText,
+                                              View.OnClickListener clickListener, int duration,
+                                              SnackbarPriority priority) {
+        submit(SnackbarRequest.obtain(activity, message, style.resolve(activity), duration)
+                .setAction(actionText, clickListener, null)
+                .setPriority(priority));
+    }
+
+    /**
+     * Show snackbar with a prepared style and an action button that opens an Activity
+     *
+     * @param style          Style built once with {@link SnackbarStyle#builder()}
+     * @param actionText     Text for the action button
+     * @param targetActivity Activity class to open when button is clicked
+     * @param duration       Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbarWithAction(Activity activity, String message, SnackbarStyle style, String actionText,
+                                              Class<?> targetActivity, int duration) {
+        submit(SnackbarRequest.obtain(activity, message, style.resolve(activity), duration)
+                .setAction(actionText, null, targetActivity));
+    }
+
+    // ========== LAZY MESSAGES ==========
+
+    /**
+     * Show snackbar whose message is built only if it actually reaches the screen
+     *
+     * @param message Builds the message text; not called if the request is dropped
+     */
+    public static void showSnackbar(Activity activity, Supplier<? extends CharSequence> message) {
+        showSnackbar(activity, null, message, SnackbarStyle.DEFAULT, DEFAULT_DURATION);
+    }
+
+    /**
+     * Show snackbar with a lazily built message and a prepared style
+     *
+     * @param dedupeKey Identifies duplicate messages without formatting them (null = no duplicate suppression)
+     * @param message   Builds the message text; not called if the request is dropped
+     * @param style     Style built once with {@link SnackbarStyle#builder()}
+     * @param duration  Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbar(Activity activity, Object dedupeKey, Supplier<? extends CharSequence> message,
+                                    SnackbarStyle style, int duration) {
+        submit(SnackbarRequest.obtain(activity, null, style.resolve(activity), duration)
+                .setMessageSupplier(dedupeKey, message));
+    }
+
+    /**
+     * Show snackbar with a lazily built message, a prepared style and an action button
+     *
+     * @param dedupeKey     Identifies duplicate messages without formatting them (null = no duplicate suppression)
+     * @param message       Builds the message text; not called if the request is dropped
+     * @param style         Style built once with {@link SnackbarStyle#builder()}
+     * @param actionText    Text for the action button
+     * @param clickListener Click listener for the action button
+     * @param duration      Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbarWithAction(Activity activity, Object dedupeKey, Supplier<? extends CharSequence> message,
+                                              SnackbarStyle style, String actionText,
+                                              View.OnClickListener clickListener, int duration) {
+        submit(SnackbarRequest.obtain(activity, null, style.resolve(activity), duration)
+                .setMessageSupplier(dedupeKey, message)
+                .setAction(actionText, clickListener, null));
+    }
+
+    // ========== MARKUP ==========
+
+    /**
+     * Show snackbar whose message is a markup template, e.g.
+     * {@code "<b>{0}</b> was moved to <a href=\"https://example.com/trash\">Trash</a>"}.
+     * See {@link SnackbarMarkup} for the tags; arguments are inserted as plain text. The
+     * message is formatted only when it is shown; the same template with equal arguments
+     * counts as a duplicate.
+     *
+     * @param template Markup template; parsed once and cached
+     * @param args     Values for {@code {0}}, {@code {1}}, ...
+     */
+    public static void showSnackbarWithMarkup(Activity activity, String template, Object... args) {
+        showSnackbarWithMarkup(activity, SnackbarStyle.DEFAULT, DEFAULT_DURATION, template, args);
+    }
+
+    /**
+     * Show snackbar whose message is a markup template, with a prepared style and custom duration
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     * @param template Markup template; parsed once and cached
+     * @param args     Values for {@code {0}}, {@code {1}}, ...
+     */
+    public static void showSnackbarWithMarkup(Activity activity, SnackbarStyle style, int duration,
+                                              String template, Object... args) {
+        SnackbarMarkup.Message message = SnackbarMarkup.message(template, args);
+        submit(SnackbarRequest.obtain(activity, null, style.resolve(activity), duration)
+                .setMessageSupplier(message, message));
+    }
+
+    /**
+     * Limit how many parsed markup templates are kept (default 32, 0 disables caching).
+     * Safe to call from any thread.
+     */
+    public static void setMarkupCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        SnackbarMarkup.setCacheSize(size);
+    }
+
+    // ========== WITHOUT ACTIVITY ==========
+
+    /**
+     * Enable the {@code showSnackbar*} overloads that take no Activity, with the default
+     * buffer (16 messages, 30 seconds). Call once from {@code Application.onCreate}.
+     */
+    public static void install(Application application) {
+        install(application, ForegroundActivityTracker.DEFAULT_BUFFER_SIZE, ForegroundActivityTracker.DEFAULT_EXPIRY_MS);
+    }
+
+    /**
+     * Enable the {@code showSnackbar*} overloads that take no Activity. Messages are shown on
+     * the resumed Activity; while none is in the foreground they are buffered and shown in
+     * order when one resumes. Call from {@code Application.onCreate}, on the main thread;
+     * calling again only changes the buffer limits.
+     *
+     * @param bufferSize Maximum messages kept while no Activity is resumed, oldest dropped first (0 = drop them)
+     * @param expiryMs   Buffered messages older than this are dropped instead of shown (0 = never expire)
+     */
+    public static void install(Application application, int bufferSize, long expiryMs) {
+        if (bufferSize < 0 || expiryMs < 0) {
+            throw new IllegalArgumentException("bufferSize and expiryMs must not be negative");
+        }
+        FOREGROUND.setBuffer(bufferSize, expiryMs);
+        if (!installed) {
+            application.registerActivityLifecycleCallbacks(FOREGROUND);
+            installed = true;
+        }
+    }
+
+    /**
+     * Show snackbar with default styling on the foreground Activity
+     * (requires {@link #install(Application)})
+     */
+    public static void showSnackbar(String message) {
+        showSnackbar(message, SnackbarStyle.DEFAULT, DEFAULT_DURATION);
+    }
+
+    /**
+     * Show snackbar with a prepared style on the foreground Activity
+     * (requires {@link #install(Application)})
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbar(String message, SnackbarStyle style, int duration) {
+        showSnackbar(message, style, duration, SnackbarPriority.NORMAL);
+    }
+
+    /**
+     * Show snackbar with a prepared style and priority on the foreground Activity
+     * (requires {@link #install(Application)})
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     * @param priority HIGH shortens and CRITICAL dismisses a lower-priority snackbar on screen
+     */
+    public static void showSnackbar(String message, SnackbarStyle style, int duration, SnackbarPriority priority) {
+        checkInstalled();
+        submit(SnackbarRequest.obtain(style, message, duration)
+                .setPriority(priority));
+    }
+
+    /**
+     * Show snackbar with a prepared style and an action button on the foreground Activity
+     * (requires {@link #install(Application)})
+     *
+     * @param style         Style built once with {@link SnackbarStyle#builder()}
+     * @param actionText    Text for the action button
+     * @param clickListener Click listener for the action button
+     * @param duration      Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbarWithAction(String message, SnackbarStyle style, String actionText,
+                                              View.OnClickListener clickListener, int duration) {
+        checkInstalled();
+        submit(SnackbarRequest.obtain(style, message, duration)
+                .setAction(actionText, clickListener, null));
+    }
+
+    // ========== GROUPED ==========
+
+    /**
+     * Show one summary snackbar for every message sent to {@code group} within its window
+     *
+     * @param group   Group built once with {@link SnackbarGroup#builder}
+     * @param payload Handed to the group's action together with the other folded payloads
+     */
+    public static <T> void showSnackbar(Activity activity, SnackbarGroup<T> group, T payload) {
+        if (activity == null) {
+            throw new IllegalArgumentException("activity == null");
+        }
+        addToGroup(activity, group, payload);
+    }
+
+    /**
+     * Show one summary snackbar on the foreground Activity for every message sent to
+     * {@code group} within its window (requires {@link #install(Application)})
+     *
+     * @param group   Group built once with {@link SnackbarGroup#builder}
+     * @param payload Handed to the group's action together with the other folded payloads
+     */
+    public static <T> void showSnackbar(SnackbarGroup<T> group, T payload) {
+        checkInstalled();
+        addToGroup(null, group, payload);
+    }
+
+    // ========== UNDO ==========
+
+    /**
+     * Show snackbar with an Undo button for a destructive operation that only runs if the
+     * snackbar goes away without Undo being clicked
+     *
+     * @param undoText Text for the undo button
+     * @param commit   The destructive write; runs later on a background thread, never if Undo is clicked
+     */
+    public static void showSnackbarWithUndo(Activity activity, String message, String undoText, Runnable commit) {
+        showSnackbarWithUndo(activity, message, SnackbarStyle.DEFAULT, undoText, commit, null, Snackbar.LENGTH_LONG);
+    }
+
+    /**
+     * Show snackbar with a prepared style and an Undo button for a destructive operation that
+     * only runs if the snackbar goes away without Undo being clicked. Operations of
+     * consecutive undo snackbars are committed together, see {@link #setUndoCommitter}.
+     *
+     * @param style    Style built once with {@link SnackbarStyle#builder()}
+     * @param undoText Text for the undo button
+     * @param commit   The destructive write; runs later on a background thread, never if Undo is clicked
+     * @param onUndo   Called on the main thread when Undo is clicked, e.g. to restore the row (may be null)
+     * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+     */
+    public static void showSnackbarWithUndo(Activity activity, String message, SnackbarStyle style, String undoText,
+                                            Runnable commit, View.OnClickListener onUndo, int duration) {
+        if (commit == null) {
+            throw new IllegalArgumentException("commit == null");
+        }
+        submit(SnackbarRequest.obtain(activity, message, style.resolve(activity), duration)
+                .setUndo(undoText, UNDO.register(commit, onUndo)));
+    }
+
+    /**
+     * Run the committed operations of undo snackbars through {@code committer}, e.g. to wrap
+     * each batch in one database transaction (null restores running them one by one).
+     */
+    public static void setUndoCommitter(SnackbarUndoCommitter committer) {
+        UNDO.setCommitter(committer);
+    }
+
+    // ========== STARTUP ==========
+
+    /**
+     * Do the one-time work of the first snackbar ahead of time: load the Material snackbar
+     * classes on a background thread, then inflate and measure one snackbar and resolve the
+     * given styles once the main thread is idle. Call from {@code Application.onCreate}
+     * (the first Activity to resume is warmed) or from an Activity's {@code onCreate}.
+     *
+     * @param context Application or Activity
+     * @param styles  Styles to resolve ahead of time (optional)
+     */
+    public static void prewarm(Context context, SnackbarStyle... styles) {
+        SnackbarPrewarmer.prewarm(context, RENDERER, styles);
+    }
+
+    // ========== TEXT ==========
+
+    /**
+     * Lay out long messages off the main thread. Messages with at least {@code minLength}
+     * characters are measured on a background thread with the snackbar's text size and font
+     * before the snackbar slides in, so the frame that shows it skips text measurement.
+     * Must be called from the main thread.
+     *
+     * @param minLength Minimum message length to precompute (0 = disabled, the default)
+     */
+    public static void setTextPrecomputeMinLength(int minLength) {
+        if (minLength < 0) {
+            throw new IllegalArgumentException("minLength must not be negative");
+        }
+        RENDERER.setPrecomputeMinLength(minLength);
+    }
+
+    // ========== RATE LIMITING ==========
+
+    /**
+     * Cap how often snackbars may be requested, globally and per message (or dedupe key).
+     * Requests over the limit are dropped on the calling thread before they reach the queue and
+     * reported as {@link SnackbarMetrics.DropReason#RATE_LIMITED}. Critical snackbars are never
+     * limited. Safe to call from any thread.
+     *
+     * @param config Limits built with {@link SnackbarRateLimiter.Config.Builder}, or null to remove them
+     */
+    public static synchronized void setRateLimit(SnackbarRateLimiter.Config config) {
+        SnackbarRateLimiter old = rateLimiter;
+        if (old != null) {
+            PIPELINE.removeFilter(old.filter);
+        }
+        SnackbarRateLimiter limiter = config != null ? new SnackbarRateLimiter(config) : null;
+        if (limiter != null) {
+            PIPELINE.addFilter(limiter.filter);
+        }
+        rateLimiter = limiter;
+    }
+
+    /**
+     * Requests suppressed by the rate limit so far, per message or dedupe key, to find noisy
+     * callers. Keys that have gone quiet may be forgotten once more keys are seen than
+     * {@link SnackbarRateLimiter.Config#getMaxTrackedKeys()}. Safe to call from any thread.
+     *
+     * @return A snapshot; empty when no per-key rate is set
+     */
+    public static Map<Object, Integer> getRateLimitedCounts() {
+        SnackbarRateLimiter limiter = rateLimiter;
+        return limiter != null ? limiter.getSuppressedCounts() : Collections.<Object, Integer>emptyMap();
+    }
+
+    // ========== HISTORY ==========
+
+    /**
+     * Record every shown snackbar (time, message, style, how long it was visible and how it was
+     * dismissed) in a 512-record ring file in the app's no-backup directory, for diagnosing
+     * support reports. Writes happen on a background thread. Must be called from the main thread.
+     */
+    public static void enableHistory(Context context) {
+        final Context appContext = context.getApplicationContext();
+        startHistory(() -> new File(appContext.getNoBackupFilesDir(), SnackbarHistory.DEFAULT_FILE_NAME),
+                SnackbarHistory.DEFAULT_MAX_RECORDS, true);
+    }
+
+    /**
+     * Record every shown snackbar in a ring file. Must be called from the main thread.
+     *
+     * @param file       History file; created, or reset if it has another size
+     * @param maxRecords Records kept before the oldest is overwritten (128 bytes each)
+     * @param recordText Whether to keep the message text (up to 96 bytes), or only its hash
+     */
+    public static void enableHistory(File file, int maxRecords, boolean recordText) {
+        if (file == null) {
+            throw new IllegalArgumentException("file == null");
+        }
+        startHistory(() -> file, maxRecords, recordText);
+    }
+
+    /**
+     * Stop recording. The file is kept. Must be called from the main thread.
+     */
+    public static void disableHistory() {
+        SnackbarHistory old = history;
+        if (old != null) {
+            PIPELINE.removeObserver(old.observer);
+            history = null;
+        }
+    }
+
+    /**
+     * Stream the recorded history, oldest first. Blocks on file I/O, so call it from a
+     * background thread. Does nothing while history is disabled; use
+     * {@link SnackbarHistory#read(File, Consumer)} for a file from an earlier run.
+     */
+    public static void readHistory(Consumer<SnackbarHistory.Record> consumer) {
+        SnackbarHistory current = history;
+        if (current != null) {
+            current.read(consumer);
+        }
+    }
+
+    // ========== QUEUE ==========
+
+    /**
+     * Replace the queue configuration (buffer size, duplicate window, overflow policy,
+     * per-window queues).
+     * Must be called from the main thread.
+     */
+    public static void setQueueConfig(SnackbarQueue.Config config) {
+        if (config == null) {
+            throw new IllegalArgumentException("config == null");
+        }
+        QUEUE.setConfig(config);
+    }
+
+    /**
+     * Discard all snackbars waiting in the queue, including messages buffered for the next
+     * foreground Activity. The one currently on screen is kept. Must be called from the main thread.
+     */
+    public static void clearQueue() {
+        QUEUE.clear();
+        FOREGROUND.clear();
+    }
+
+    /**
+     * Install a listener for show timings, dismissal counters, drops and queue depth
+     * (null removes it). With no listener the show path measures nothing.
+     * Must be called from the main thread.
+     *
+     * @see SnackbarStatsCollector
+     */
+    public static void setMetricsListener(SnackbarMetrics listener) {
+        QUEUE.setMetrics(listener);
+    }
+
+    /**
+     * Longest time measured so far from a show call to the snackbar being fully on screen,
+     * for the given priority. Must be called from the main thread.
+     * <p>
+     * For {@link SnackbarPriority#CRITICAL} this is bounded by the exit animation of the
+     * snackbar it dismisses plus its own entrance, unless another critical one was on screen.
+     */
+    public static long getWorstShowLatencyMillis(SnackbarPriority priority) {
+        return QUEUE.getWorstShowLatencyNanos(priority) / 1_000_000L;
+    }
+
+    /**
+     * Start a new measurement window for {@link #getWorstShowLatencyMillis(SnackbarPriority)}.
+     */
+    public static void resetShowLatency() {
+        QUEUE.resetShowLatency();
+    }
+
+    /**
+     * Limit how many dismissed snackbars are kept per Activity for reuse (0 disables pooling).
+     * Must be called from the main thread.
+     */
+    public static void setPoolSize(int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("poolSize must not be negative");
+        }
+        RENDERER.setMaxPoolSize(poolSize);
+    }
+
+    /**
+     * Release pooled snackbars. The library already listens for memory pressure on the
+     * Application; call this from your own {@code onTrimMemory} to trim earlier.
+     * Must be called from the main thread.
+     *
+     * @param level Trim level as passed to {@code ComponentCallbacks2.onTrimMemory}
+     */
+    public static void onTrimMemory(int level) {
+        RENDERER.trimMemory(level);
+    }
+
+    private static SnackbarQueue createQueue() {
+        SnackbarQueue queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, RENDERER);
+        RENDERER.setQueue(queue);
+        queue.setShowGate(new FrameBudgetGate(queue));
+        return queue;
+    }
+
+    /**
+     * The handoff from other threads. JVM benchmarks, which have no main Looper, replace its
+     * scheduler and drain it themselves.
+     */
+    static FrameBatchDispatcher<SnackbarRequest> dispatcher() {
+        return DISPATCHER;
+    }
+
+    private static FrameBatchDispatcher<SnackbarRequest> createDispatcher() {
+        FrameBatchDispatcher<SnackbarRequest> dispatcher = new FrameBatchDispatcher<>(CustomSnackbar::enqueue);
+        dispatcher.setScheduler(new MainThreadFrameScheduler(dispatcher));
+        return dispatcher;
+    }
+
+    /**
+     * The style for one combination of resource IDs, built on first use so the colors are
+     * looked up once per theme rather than on every show. Safe to call from any thread.
+     */
+    private static SnackbarStyle resourceStyle(int textSize, int textColorRes, int backgroundColorRes,
+                                               int actionColorRes, int actionBgColorRes) {
+        for (SnackbarStyle style : RESOURCE_STYLES) {
+            if (style != null && style.hasResources(textSize, textColorRes, backgroundColorRes, actionColorRes,
+                    actionBgColorRes)) {
+                return style;
             }
-        });
-
-        // Set action button background color if specified
-        if (actionBgColor != 0) {
-            snackbar.addCallback(new Snackbar.Callback() {
-                @Override
-                public void onShown(Snackbar sb) {
-                    View actionView = snackbarView.findViewById(com.google.android.material.R.id.snackbar_action);
-                    if (actionView != null) {
-                        actionView.setBackgroundColor(actionBgColor);
-                        // Add padding for better appearance
-                        int px = (int) (8 * activity.getResources().getDisplayMetrics().density);
-                        actionView.setPadding(px, px / 2, px, px / 2);
-                    }
-                }
-            });
         }
+        SnackbarStyle.Builder builder = SnackbarStyle.builder()
+                .setTextSize(textSize)
+                .setTextColorRes(textColorRes)
+                .setBackgroundColorRes(backgroundColorRes)
+                .setActionBackgroundColorRes(actionBgColorRes);
+        if (actionColorRes != 0) {
+            builder.setActionTextColorRes(actionColorRes);
+        }
+        SnackbarStyle style = builder.build();
+        // Racy round-robin: a lost slot only means building the style again
+        int slot = nextResourceStyle;
+        nextResourceStyle = (slot + 1) % RESOURCE_STYLES.length;
+        RESOURCE_STYLES[slot] = style;
+        return style;
+    }
+
+    private static float spToPx(Activity activity, int textSize) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, textSize, activity.getResources().getDisplayMetrics());
+    }
+
+    private static <T> void addToGroup(Activity activity, SnackbarGroup<T> group, T payload) {
+        if (group.add(activity, payload)) {
+            SnackbarExecutors.main().postDelayed(group.flushRunnable(), group.windowMs);
+        }
+    }
 
-        snackbar.show();
+    /**
+     * Close a group's window and queue its summary snackbar. Main thread only.
+     */
+    static void enqueueBatch(SnackbarGroup<?> group) {
+        SnackbarRequest request = group.takeBatch();
+        if (request == null) {
+            return;
+        }
+        int collapsed = request.collapsedCount;
+        if (PIPELINE.process(request)) {
+            // Only now: a summary dropped by a filter is already counted under its reason
+            QUEUE.reportDropped(SnackbarMetrics.DropReason.COLLAPSED, collapsed);
+            enqueue(request);
+        }
+    }
+
+    private static void startHistory(Supplier<File> location, int maxRecords, boolean recordText) {
+        disableHistory();
+        SnackbarHistory recorder = new SnackbarHistory(location, maxRecords, recordText, SnackbarExecutors.background());
+        PIPELINE.addObserver(recorder.observer);
+        history = recorder;
+    }
+
+    private static void checkInstalled() {
+        if (!installed) {
+            throw new IllegalStateException("Call CustomSnackbar.install(application) first");
+        }
+    }
+
+    /**
+     * Run a request through the pipeline's filters and transforms, then route it to the queue,
+     * hopping to the main thread if needed.
+     */
+    private static void submit(SnackbarRequest request) {
+        if (!PIPELINE.process(request)) {
+            return;
+        }
+        if (MainThreadFrameScheduler.isMainThread()) {
+            enqueue(request);
+        } else {
+            DISPATCHER.offer(request);
+        }
+    }
+
+    private static void enqueue(SnackbarRequest request) {
+        if (request.activity == null) {
+            FOREGROUND.submit(request);
+        } else {
+            QUEUE.enqueue(request);
+        }
     }
-}
\ No newline at end of file
+}
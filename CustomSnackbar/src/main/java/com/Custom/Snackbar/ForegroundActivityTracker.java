@@ -0,0 +1,127 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import java.util.ArrayDeque;
+
+/**
+ * Binds Activity-less requests to whichever Activity is in the foreground.
+ * <p>
+ * While no Activity is resumed, requests wait in a bounded FIFO buffer: when it is full the
+ * oldest is dropped, and requests older than the expiry are dropped instead of shown. The
+ * buffer is handed to the queue, in order, as soon as an Activity resumes.
+ * <p>
+ * Main thread only.
+ */
+final class ForegroundActivityTracker implements Application.ActivityLifecycleCallbacks {
+
+    static final int DEFAULT_BUFFER_SIZE = 16;
+    static final long DEFAULT_EXPIRY_MS = 30_000;
+
+    private final SnackbarQueue queue;
+    private final ArrayDeque<SnackbarRequest> buffer = new ArrayDeque<>();
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private long expiryNanos = DEFAULT_EXPIRY_MS * 1_000_000L;
+    private Activity resumed;
+
+    ForegroundActivityTracker(SnackbarQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * @param bufferSize Maximum number of requests kept while no Activity is resumed (0 = none)
+     * @param expiryMs   Buffered requests older than this are dropped (0 = no expiry)
+     */
+    void setBuffer(int bufferSize, long expiryMs) {
+        this.bufferSize = bufferSize;
+        this.expiryNanos = expiryMs * 1_000_000L;
+        int overflow = buffer.size() - bufferSize;
+        for (int i = 0; i < overflow; i++) {
+            buffer.pollFirst().recycle();
+        }
+        if (overflow > 0) {
+            queue.reportDropped(SnackbarMetrics.DropReason.OVERFLOW, overflow);
+        }
+    }
+
+    void submit(SnackbarRequest request) {
+        if (resumed != null) {
+            request.attach(resumed);
+            queue.enqueue(request);
+            return;
+        }
+        dropExpired(System.nanoTime());
+        if (bufferSize == 0) {
+            request.recycle();
+            queue.reportDropped(SnackbarMetrics.DropReason.OVERFLOW, 1);
+            return;
+        }
+        if (buffer.size() >= bufferSize) {
+            buffer.pollFirst().recycle();
+            queue.reportDropped(SnackbarMetrics.DropReason.OVERFLOW, 1);
+        }
+        buffer.addLast(request);
+    }
+
+    int bufferedCount() {
+        return buffer.size();
+    }
+
+    void clear() {
+        SnackbarRequest request;
+        while ((request = buffer.pollFirst()) != null) {
+            queue.drop(request, SnackbarMetrics.DropReason.CLEARED);
+        }
+    }
+
+    private void dropExpired(long now) {
+        if (expiryNanos == 0) {
+            return;
+        }
+        int expired = 0;
+        SnackbarRequest oldest;
+        while ((oldest = buffer.peekFirst()) != null && now - oldest.createdNanos > expiryNanos) {
+            buffer.pollFirst().recycle();
+            expired++;
+        }
+        if (expired > 0) {
+            queue.reportDropped(SnackbarMetrics.DropReason.EXPIRED, expired);
+        }
+    }
+
+    @Override public void onActivityCreated(Activity a, Bundle savedInstanceState) { }
+    @Override public void onActivityStarted(Activity a) { }
+
+    @Override
+    public void onActivityResumed(Activity a) {
+        resumed = a;
+        if (buffer.isEmpty()) {
+            return;
+        }
+        dropExpired(System.nanoTime());
+        SnackbarRequest request;
+        while ((request = buffer.pollFirst()) != null) {
+            request.attach(a);
+            queue.enqueue(request);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(Activity a) {
+        if (resumed == a) {
+            resumed = null;
+        }
+    }
+
+    @Override public void onActivityStopped(Activity a) { }
+    @Override public void onActivitySaveInstanceState(Activity a, Bundle outState) { }
+
+    @Override
+    public void onActivityDestroyed(Activity a) {
+        if (resumed == a) {
+            resumed = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.Custom.Snackbar;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-producer handoff from arbitrary threads to a single consumer thread.
+ * <p>
+ * Producers push into a lock-free queue; only the producer that finds no drain pending asks
+ * the {@link Scheduler} for one, so a burst of N offers costs one scheduled drain rather than
+ * N posted Runnables. The consumer empties the whole queue in {@link #drain()}.
+ *
+ * @param <T> Item type handed to the consumer
+ */
+final class FrameBatchDispatcher<T> {
+
+    /**
+     * Arranges for {@link #drain()} to be called once on the consumer thread.
+     */
+    interface Scheduler {
+        void scheduleDrain();
+    }
+
+    interface Consumer<T> {
+        void accept(T item);
+    }
+
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Consumer<T> consumer;
+    private Scheduler scheduler;
+
+    FrameBatchDispatcher(Consumer<T> consumer) {
+        this.consumer = consumer;
+    }
+
+    void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Safe to call from any thread.
+     */
+    void offer(T item) {
+        queue.offer(item);
+        if (drainScheduled.compareAndSet(false, true)) {
+            scheduler.scheduleDrain();
+        }
+    }
+
+    /**
+     * Deliver everything offered so far. Must be called on the consumer thread.
+     *
+     * @return Number of items delivered
+     */
+    int drain() {
+        // Clear the flag first: an offer racing with this drain either lands in the loop
+        // below or schedules another drain, so nothing is left behind.
+        drainScheduled.set(false);
+        int count = 0;
+        T item;
+        while ((item = queue.poll()) != null) {
+            consumer.accept(item);
+            count++;
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+package com.Custom.Snackbar;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.Choreographer;
+
+/**
+ * Holds back a snackbar's entrance animation while the main thread is busy producing frames,
+ * e.g. during a fling or an Activity transition.
+ * <p>
+ * While a show is waiting, every Choreographer frame is observed. A frame counts as quiet
+ * when it arrived on time (no skipped vsync) and its callbacks started within half a frame
+ * interval. After {@link #QUIET_FRAMES} quiet frames in a row the gate opens on the next idle
+ * of the main looper; a janky frame in between starts over. The request's deadline opens the
+ * gate regardless.
+ * <p>
+ * The callbacks are allocated once. Main thread only.
+ */
+final class FrameBudgetGate implements SnackbarQueue.ShowGate, Choreographer.FrameCallback,
+        MessageQueue.IdleHandler, Runnable {
+
+    static final int QUIET_FRAMES = 2;
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16_666_667;
+    // Ignore intervals from displays faster than 240 Hz or from two callbacks in one vsync
+    private static final long MIN_FRAME_INTERVAL_NANOS = 4_000_000;
+
+    private final SnackbarQueue queue;
+    private boolean waiting;
+    private boolean idleHandlerAdded;
+    private int quietFrames;
+    private long lastFrameTimeNanos;
+    // Shortest interval seen between frames, i.e. the display's vsync period
+    private long frameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+
+    FrameBudgetGate(SnackbarQueue queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public boolean tryPass(long deadlineNanos) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return true;
+        }
+        if (waiting) {
+            // A stale frame callback would count frames twice, a stale deadline open the gate early
+            stop();
+        }
+        waiting = true;
+        quietFrames = 0;
+        lastFrameTimeNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+        SnackbarExecutors.main().postDelayed(this, remainingNanos / 1_000_000L + 1);
+        return false;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!waiting) {
+            return;
+        }
+        if (lastFrameTimeNanos != 0) {
+            long interval = frameTimeNanos - lastFrameTimeNanos;
+            if (interval >= MIN_FRAME_INTERVAL_NANOS && interval < frameIntervalNanos) {
+                frameIntervalNanos = interval;
+            }
+            boolean skipped = interval > frameIntervalNanos * 3 / 2;
+            boolean late = System.nanoTime() - frameTimeNanos > frameIntervalNanos / 2;
+            if (skipped || late) {
+                quietFrames = 0;
+                setIdleHandler(false);
+            } else if (++quietFrames >= QUIET_FRAMES) {
+                setIdleHandler(true);
+            }
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public boolean queueIdle() {
+        idleHandlerAdded = false;
+        if (waiting) {
+            open();
+        }
+        return false;
+    }
+
+    /**
+     * Deadline reached.
+     */
+    @Override
+    public void run() {
+        if (waiting) {
+            open();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (waiting) {
+            stop();
+        }
+    }
+
+    private void open() {
+        stop();
+        queue.onGateOpen();
+    }
+
+    private void stop() {
+        waiting = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        SnackbarExecutors.main().removeCallbacks(this);
+        setIdleHandler(false);
+    }
+
+    private void setIdleHandler(boolean add) {
+        if (add == idleHandlerAdded) {
+            return;
+        }
+        idleHandlerAdded = add;
+        MessageQueue messageQueue = Looper.getMainLooper().getQueue();
+        if (add) {
+            messageQueue.addIdleHandler(this);
+        } else {
+            messageQueue.removeIdleHandler(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.Custom.Snackbar;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Runs a {@link FrameBatchDispatcher} drain on the next Choreographer frame of the main looper.
+ * <p>
+ * Callers off the main thread pay for a single Handler post per batch, which only registers
+ * the frame callback; both the Runnable and the callback are allocated once.
+ */
+final class MainThreadFrameScheduler implements FrameBatchDispatcher.Scheduler, Choreographer.FrameCallback {
+
+    // Set only by JVM benchmarks, which have no main Looper
+    private static volatile Thread mainThread;
+
+    private final FrameBatchDispatcher<?> dispatcher;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable postFrameCallback = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(MainThreadFrameScheduler.this);
+        }
+    };
+
+    MainThreadFrameScheduler(FrameBatchDispatcher<?> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    static boolean isMainThread() {
+        Thread main = mainThread;
+        if (main == null) {
+            return Looper.getMainLooper().isCurrentThread();
+        }
+        return Thread.currentThread() == main;
+    }
+
+    static void setMainThread(Thread thread) {
+        mainThread = thread;
+    }
+
+    @Override
+    public void scheduleDrain() {
+        if (isMainThread()) {
+            Choreographer.getInstance().postFrameCallback(this);
+        } else {
+            mainHandler.post(postFrameCallback);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        dispatcher.drain();
+    }
+}
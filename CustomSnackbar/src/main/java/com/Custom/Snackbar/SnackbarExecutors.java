@@ -0,0 +1,80 @@
+package com.Custom.Snackbar;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads shared by the library: the main-thread handler, one lazily started, low-priority
+ * background thread for work that must stay off the UI thread, and a separate thread for
+ * undo commits, which run app code of unknown cost.
+ */
+final class SnackbarExecutors {
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+    private static volatile ExecutorService background;
+    private static volatile ExecutorService commits;
+
+    private SnackbarExecutors() {
+    }
+
+    static Handler main() {
+        return MAIN;
+    }
+
+    /**
+     * Message precompute and history writes: short tasks on the path to the next snackbar.
+     */
+    static ExecutorService background() {
+        ExecutorService executor = background;
+        if (executor == null) {
+            synchronized (SnackbarExecutors.class) {
+                executor = background;
+                if (executor == null) {
+                    executor = newBackgroundThread("CustomSnackbar-background");
+                    background = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Undo commits, one batch after another, so a slow database write never holds up
+     * {@link #background()} work.
+     */
+    static ExecutorService commits() {
+        ExecutorService executor = commits;
+        if (executor == null) {
+            synchronized (SnackbarExecutors.class) {
+                executor = commits;
+                if (executor == null) {
+                    executor = newBackgroundThread("CustomSnackbar-commit");
+                    commits = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService newBackgroundThread(final String name) {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        r.run();
+                    }
+                }, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
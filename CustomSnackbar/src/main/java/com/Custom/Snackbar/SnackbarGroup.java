@@ -0,0 +1,210 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Folds repeated messages into one summary snackbar.
+ * <p>
+ * Every message sent to a group within its window (measured from the first one) ends up in a
+ * single snackbar whose text is built from the count, with one action that receives all the
+ * payloads. Build a group once and keep it:
+ *
+ * <pre>
+ * static final SnackbarGroup&lt;Row&gt; DELETED = SnackbarGroup.&lt;Row&gt;builder(
+ *                 count -&gt; count == 1 ? "Item deleted" : count + " items deleted")
+ *         .setAction("Undo", rows -&gt; repository.restore(rows))
+ *         .build();
+ *
+ * for (Row row : selection) {
+ *     CustomSnackbar.showSnackbar(activity, DELETED, row);
+ * }
+ * </pre>
+ *
+ * @param <T> Payload type handed to the action
+ */
+public final class SnackbarGroup<T> {
+
+    static final long DEFAULT_WINDOW_MS = 500;
+
+    private final IntFunction<? extends CharSequence> message;
+    private final String actionText;
+    private final Consumer<List<T>> actionListener;
+    final SnackbarStyle style;
+    final int duration;
+    final long windowMs;
+
+    private final Object lock = new Object();
+    private ArrayList<T> payloads = new ArrayList<>();
+    private Activity activity;
+    private boolean flushScheduled;
+    private final Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            CustomSnackbar.enqueueBatch(SnackbarGroup.this);
+        }
+    };
+
+    private SnackbarGroup(Builder<T> builder) {
+        this.message = builder.message;
+        this.actionText = builder.actionText;
+        this.actionListener = builder.actionListener;
+        this.style = builder.style;
+        this.duration = builder.duration;
+        this.windowMs = builder.windowMs;
+    }
+
+    /**
+     * @param message Builds the snackbar text from the number of folded messages
+     */
+    public static <T> Builder<T> builder(IntFunction<? extends CharSequence> message) {
+        return new Builder<>(message);
+    }
+
+    /**
+     * Add one message. Safe to call from any thread.
+     *
+     * @return {@code true} if this opened a new window, so a flush must be scheduled
+     */
+    boolean add(Activity activity, T payload) {
+        synchronized (lock) {
+            payloads.add(payload);
+            if (activity != null) {
+                this.activity = activity;
+            }
+            if (flushScheduled) {
+                return false;
+            }
+            flushScheduled = true;
+            return true;
+        }
+    }
+
+    Runnable flushRunnable() {
+        return flush;
+    }
+
+    /**
+     * Close the current window and turn its messages into one request (null if there were none).
+     */
+    SnackbarRequest takeBatch() {
+        ArrayList<T> batch;
+        Activity target;
+        synchronized (lock) {
+            batch = payloads;
+            target = activity;
+            payloads = new ArrayList<>();
+            activity = null;
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return null;
+        }
+        Batch<T> summary = new Batch<>(this, batch);
+        SnackbarRequest request = target != null
+                ? SnackbarRequest.obtain(target, null, style.resolve(target), duration)
+                : SnackbarRequest.obtain(style, null, duration);
+        // No dedupe key: equal counts from different windows are not duplicates
+        request.setMessageSupplier(null, summary);
+        request.collapsedCount = batch.size() - 1;
+        if (actionText != null) {
+            request.setAction(actionText, summary, null);
+        }
+        return request;
+    }
+
+    /**
+     * One closed window: formats the count and delivers the payloads to the action.
+     */
+    private static final class Batch<T> implements Supplier<CharSequence>, View.OnClickListener {
+        private final SnackbarGroup<T> group;
+        private final List<T> payloads;
+
+        Batch(SnackbarGroup<T> group, List<T> payloads) {
+            this.group = group;
+            this.payloads = Collections.unmodifiableList(payloads);
+        }
+
+        @Override
+        public CharSequence get() {
+            return group.message.apply(payloads.size());
+        }
+
+        @Override
+        public void onClick(View v) {
+            group.actionListener.accept(payloads);
+        }
+    }
+
+    public static final class Builder<T> {
+        private final IntFunction<? extends CharSequence> message;
+        private String actionText;
+        private Consumer<List<T>> actionListener;
+        private SnackbarStyle style = SnackbarStyle.DEFAULT;
+        private int duration = Snackbar.LENGTH_LONG;
+        private long windowMs = DEFAULT_WINDOW_MS;
+
+        private Builder(IntFunction<? extends CharSequence> message) {
+            if (message == null) {
+                throw new IllegalArgumentException("message == null");
+            }
+            this.message = message;
+        }
+
+        /**
+         * @param actionText     Text for the action button
+         * @param actionListener Receives the payloads of every message folded into the snackbar
+         */
+        public Builder<T> setAction(String actionText, Consumer<List<T>> actionListener) {
+            if (actionText == null || actionListener == null) {
+                throw new IllegalArgumentException("actionText and actionListener must not be null");
+            }
+            this.actionText = actionText;
+            this.actionListener = actionListener;
+            return this;
+        }
+
+        /**
+         * @param style Style built once with {@link SnackbarStyle#builder()}
+         */
+        public Builder<T> setStyle(SnackbarStyle style) {
+            if (style == null) {
+                throw new IllegalArgumentException("style == null");
+            }
+            this.style = style;
+            return this;
+        }
+
+        /**
+         * @param duration Duration in milliseconds, or use Snackbar.LENGTH_SHORT/LENGTH_LONG/LENGTH_INDEFINITE
+         */
+        public Builder<T> setDuration(int duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * @param windowMs How long after the first message others are folded in (default 500)
+         */
+        public Builder<T> setWindowMs(long windowMs) {
+            if (windowMs < 0) {
+                throw new IllegalArgumentException("windowMs must not be negative");
+            }
+            this.windowMs = windowMs;
+            return this;
+        }
+
+        public SnackbarGroup<T> build() {
+            return new SnackbarGroup<>(this);
+        }
+    }
+}
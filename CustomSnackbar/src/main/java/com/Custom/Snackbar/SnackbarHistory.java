@@ -0,0 +1,362 @@
+package com.Custom.Snackbar;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Diagnostic history of shown snackbars: what was on screen, when, for how long and how it
+ * went away, kept in a fixed-size ring file that survives process death.
+ * <p>
+ * The file is memory-mapped and holds fixed 128-byte records, so appending one is a handful
+ * of stores into the mapping and the oldest record is simply overwritten. Records are built
+ * on the main thread from fields already at hand and written on the background thread; the
+ * file is never synced explicitly, the kernel writes the pages back on its own. A record
+ * interrupted by a crash is recognized by its sequence number and skipped when reading.
+ * <p>
+ * Enable with {@link CustomSnackbar#enableHistory(android.content.Context)}; read with
+ * {@link CustomSnackbar#readHistory(Consumer)} or, for a file from an earlier run,
+ * {@link #read(File, Consumer)}.
+ */
+public final class SnackbarHistory {
+
+    /**
+     * One snackbar that was shown.
+     */
+    public static final class Record {
+        private final long sequence;
+        private final long timeMillis;
+        private final int visibleMillis;
+        private final int messageHash;
+        private final int styleId;
+        private final int outcome;
+        private final SnackbarPriority priority;
+        private final String text;
+
+        Record(long sequence, long timeMillis, int visibleMillis, int messageHash, int styleId,
+               int outcome, SnackbarPriority priority, String text) {
+            this.sequence = sequence;
+            this.timeMillis = timeMillis;
+            this.visibleMillis = visibleMillis;
+            this.messageHash = messageHash;
+            this.styleId = styleId;
+            this.outcome = outcome;
+            this.priority = priority;
+            this.text = text;
+        }
+
+        /**
+         * Position in the history; increases by one per record across restarts.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Wall-clock time the snackbar became visible, from {@link System#currentTimeMillis()}.
+         */
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public int getVisibleMillis() {
+            return visibleMillis;
+        }
+
+        /**
+         * {@code String.hashCode()} of the full message text.
+         */
+        public int getMessageHash() {
+            return messageHash;
+        }
+
+        /**
+         * Hash of the resolved style (colors, text size, max lines, action text).
+         */
+        public int getStyleId() {
+            return styleId;
+        }
+
+        /**
+         * @return One of the {@code Snackbar.Callback.DISMISS_EVENT_*} constants
+         */
+        public int getOutcome() {
+            return outcome;
+        }
+
+        public SnackbarPriority getPriority() {
+            return priority;
+        }
+
+        /**
+         * The message, cut to {@value #MAX_TEXT_BYTES} bytes of UTF-8, or {@code null} if the
+         * history was enabled without recording text.
+         */
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " at " + timeMillis + " for " + visibleMillis + "ms, outcome " + outcome
+                    + ", " + priority + ", style " + Integer.toHexString(styleId) + ", "
+                    + (text != null ? '"' + text + '"' : "hash " + Integer.toHexString(messageHash));
+        }
+    }
+
+    static final int DEFAULT_MAX_RECORDS = 512;
+    static final String DEFAULT_FILE_NAME = "custom_snackbar_history";
+
+    // File layout: header, then maxRecords fixed-size slots
+    private static final int MAGIC = 0x534E4B48; // "SNKH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int NEXT_OFFSET = 16;
+    static final int RECORD_SIZE = 128;
+    // Slot layout; sequence + 1 goes first and is 0 while the slot is empty or being written
+    private static final int SEQUENCE = 0;
+    private static final int TIME = 8;
+    private static final int VISIBLE = 16;
+    private static final int MESSAGE_HASH = 20;
+    private static final int STYLE_ID = 24;
+    private static final int OUTCOME = 28;
+    private static final int PRIORITY = 29;
+    private static final int TEXT_LENGTH = 30;
+    private static final int TEXT = 32;
+    static final int MAX_TEXT_BYTES = RECORD_SIZE - TEXT;
+
+    private static final SnackbarPriority[] PRIORITIES = SnackbarPriority.values();
+
+    private final Supplier<File> location;
+    private final int maxRecords;
+    private final boolean recordText;
+    private final Executor executor;
+
+    // Guarded by this; touched only off the main thread
+    private MappedByteBuffer buffer;
+    private long next;
+    private boolean failed;
+
+    // Main thread only
+    private long shownAtMillis;
+    private long shownAtNanos;
+
+    final SnackbarPipeline.Observer observer = new SnackbarPipeline.Observer() {
+        @Override
+        public void onShown(SnackbarRequest request) {
+            shownAtMillis = System.currentTimeMillis();
+            shownAtNanos = System.nanoTime();
+        }
+
+        @Override
+        public void onDismissed(SnackbarRequest request, int dismissEvent) {
+            CharSequence message = request.resolveMessage();
+            final String text = message != null ? message.toString() : "";
+            final long time = shownAtMillis;
+            final int visible = (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - shownAtNanos) / 1_000_000L);
+            final int styleId = request.styleHash();
+            final int outcome = dismissEvent;
+            final SnackbarPriority priority = request.priority;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    append(time, visible, text, styleId, outcome, priority);
+                }
+            });
+        }
+    };
+
+    /**
+     * @param location   Resolved on the first write, off the main thread
+     * @param maxRecords Records kept before the oldest is overwritten
+     * @param recordText Whether to keep the message text, or only its hash
+     * @param executor   Runs file I/O; must run tasks one at a time, in order
+     */
+    SnackbarHistory(Supplier<File> location, int maxRecords, boolean recordText, Executor executor) {
+        if (maxRecords < 1) {
+            throw new IllegalArgumentException("maxRecords must be at least 1");
+        }
+        this.location = location;
+        this.maxRecords = maxRecords;
+        this.recordText = recordText;
+        this.executor = executor;
+    }
+
+    /**
+     * Stream every record still in the history to {@code consumer}, oldest first. Blocks while
+     * the file is opened and while each record is copied; do not call from the main thread.
+     * Snackbars shown meanwhile are still recorded and may overwrite records not yet read,
+     * which are then skipped.
+     */
+    void read(Consumer<Record> consumer) {
+        long end;
+        synchronized (this) {
+            if (!open()) {
+                return;
+            }
+            end = next;
+        }
+        for (long sequence = Math.max(0, end - maxRecords); sequence < end; sequence++) {
+            Record record;
+            synchronized (this) {
+                record = readSlot(buffer, maxRecords, sequence);
+            }
+            if (record != null) {
+                consumer.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Stream the records of a history file, oldest first, e.g. one pulled from a device or
+     * left by an earlier run. Must not be called from the main thread.
+     *
+     * @throws IOException If the file cannot be read or is not a snackbar history
+     */
+    public static void read(File file, Consumer<Record> consumer) throws IOException {
+        ByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        }
+        int maxRecords = headerRecords(buffer);
+        if (maxRecords < 0) {
+            throw new IOException(file + " is not a snackbar history");
+        }
+        long end = buffer.getLong(NEXT_OFFSET);
+        // The header may lag one record behind if the process died right after a write
+        if (readSlot(buffer, maxRecords, end) != null) {
+            end++;
+        }
+        for (long sequence = Math.max(0, end - maxRecords); sequence < end; sequence++) {
+            Record record = readSlot(buffer, maxRecords, sequence);
+            if (record != null) {
+                consumer.accept(record);
+            }
+        }
+    }
+
+    private synchronized void append(long timeMillis, int visibleMillis, String message, int styleId,
+                                     int outcome, SnackbarPriority priority) {
+        if (!open()) {
+            return;
+        }
+        int slot = slotOffset(maxRecords, next);
+        buffer.putLong(slot + SEQUENCE, 0);
+        buffer.putLong(slot + TIME, timeMillis);
+        buffer.putInt(slot + VISIBLE, visibleMillis);
+        buffer.putInt(slot + MESSAGE_HASH, message.hashCode());
+        buffer.putInt(slot + STYLE_ID, styleId);
+        buffer.put(slot + OUTCOME, (byte) outcome);
+        buffer.put(slot + PRIORITY, (byte) priority.ordinal());
+        int length = 0;
+        if (recordText) {
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            length = Math.min(bytes.length, MAX_TEXT_BYTES);
+            // Don't cut a multi-byte character in half
+            while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+                length--;
+            }
+            for (int i = 0; i < length; i++) {
+                buffer.put(slot + TEXT + i, bytes[i]);
+            }
+        }
+        buffer.putShort(slot + TEXT_LENGTH, (short) (recordText ? length : -1));
+        // Written last: a slot with a valid sequence is complete
+        buffer.putLong(slot + SEQUENCE, next + 1);
+        next++;
+        buffer.putLong(NEXT_OFFSET, next);
+    }
+
+    /**
+     * Map the file, creating or resetting it if it is missing or has another layout.
+     */
+    private boolean open() {
+        if (buffer != null || failed) {
+            return buffer != null;
+        }
+        try {
+            File file = location.get();
+            long size = HEADER_SIZE + (long) maxRecords * RECORD_SIZE;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+                if (raf.length() != size) {
+                    // Zero-filled
+                    raf.setLength(0);
+                    raf.setLength(size);
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            if (headerRecords(buffer) == maxRecords) {
+                next = buffer.getLong(NEXT_OFFSET);
+                if (readSlot(buffer, maxRecords, next) != null) {
+                    next++;
+                }
+            } else {
+                for (int i = 0; i < maxRecords; i++) {
+                    buffer.putLong(slotOffset(maxRecords, i) + SEQUENCE, 0);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putInt(12, maxRecords);
+                buffer.putLong(NEXT_OFFSET, 0);
+                next = 0;
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Diagnostics must never break the app: stay disabled
+            failed = true;
+            buffer = null;
+            return false;
+        }
+    }
+
+    /**
+     * @return Number of slots, or -1 if the header is not this format
+     */
+    private static int headerRecords(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != RECORD_SIZE) {
+            return -1;
+        }
+        int maxRecords = buffer.getInt(12);
+        if (maxRecords < 1 || buffer.capacity() != HEADER_SIZE + (long) maxRecords * RECORD_SIZE) {
+            return -1;
+        }
+        return maxRecords;
+    }
+
+    private static int slotOffset(int maxRecords, long sequence) {
+        return HEADER_SIZE + (int) (sequence % maxRecords) * RECORD_SIZE;
+    }
+
+    /**
+     * @return The record with this sequence number, or {@code null} if its slot holds another one
+     */
+    private static Record readSlot(ByteBuffer buffer, int maxRecords, long sequence) {
+        int slot = slotOffset(maxRecords, sequence);
+        if (buffer.getLong(slot + SEQUENCE) != sequence + 1) {
+            return null;
+        }
+        int priority = buffer.get(slot + PRIORITY);
+        int length = buffer.getShort(slot + TEXT_LENGTH);
+        String text = null;
+        if (length >= 0) {
+            byte[] bytes = new byte[Math.min(length, MAX_TEXT_BYTES)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(slot + TEXT + i);
+            }
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Record(sequence, buffer.getLong(slot + TIME), buffer.getInt(slot + VISIBLE),
+                buffer.getInt(slot + MESSAGE_HASH), buffer.getInt(slot + STYLE_ID), buffer.get(slot + OUTCOME),
+                priority >= 0 && priority < PRIORITIES.length ? PRIORITIES[priority] : SnackbarPriority.NORMAL,
+                text);
+    }
+}
@@ -0,0 +1,75 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Per-Activity state of {@link SnackbarRenderer}: the content root snackbars attach to,
+ * looked up once, and the pool of reusable snackbars.
+ * <p>
+ * The host keeps its Activity alive: it holds it directly, the content root and every pooled
+ * snackbar hold its context, and the renderer keys hosts by Activity. Nothing is released by
+ * the garbage collector; the renderer calls {@link #destroy} and drops the host in
+ * {@code onActivityDestroyed}. If the Activity is only being recreated for a configuration
+ * change, its waiting requests are parked here until the new instance resumes.
+ * <p>
+ * Main thread only.
+ */
+final class SnackbarHost {
+
+    private Activity activity;
+    private final Class<?> activityClass;
+    private final int taskId;
+    final float density;
+    final ArrayDeque<SnackbarRenderer.Entry> pool;
+    private View contentRoot;
+
+    // Requests waiting for the recreated Activity; empty unless destroyed while changing configurations
+    final ArrayList<SnackbarRequest> parked = new ArrayList<>();
+
+    SnackbarHost(Activity activity, int poolSize) {
+        this.activity = activity;
+        this.activityClass = activity.getClass();
+        this.taskId = activity.getTaskId();
+        this.density = activity.getResources().getDisplayMetrics().density;
+        this.pool = new ArrayDeque<>(Math.max(poolSize, 1));
+    }
+
+    /**
+     * @return The Activity, or {@code null} once the host has been destroyed
+     */
+    Activity getActivity() {
+        return activity;
+    }
+
+    boolean isAlive() {
+        Activity a = activity;
+        return a != null && !a.isFinishing() && !a.isDestroyed();
+    }
+
+    View getContentRoot() {
+        if (contentRoot == null) {
+            contentRoot = activity.getWindow().getDecorView().findViewById(android.R.id.content);
+        }
+        return contentRoot;
+    }
+
+    /**
+     * Whether {@code a} is the recreated instance of this host's Activity.
+     */
+    boolean isRecreationOf(Activity a) {
+        return a.getClass() == activityClass && a.getTaskId() == taskId;
+    }
+
+    /**
+     * Forget the Activity and every view of it.
+     */
+    void destroy() {
+        pool.clear();
+        contentRoot = null;
+        activity = null;
+    }
+}
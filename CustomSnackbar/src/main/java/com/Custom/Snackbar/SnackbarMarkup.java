@@ -0,0 +1,388 @@
+package com.Custom.Snackbar;
+
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.SpannedString;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+import android.text.style.URLSpan;
+import android.text.style.UnderlineSpan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight markup for snackbar messages:
+ *
+ * <pre>
+ * &lt;b&gt;bold&lt;/b&gt;  &lt;i&gt;italic&lt;/i&gt;  &lt;u&gt;underline&lt;/u&gt;
+ * &lt;font color="#FF5722"&gt;colored&lt;/font&gt;  &lt;a href="https://example.com"&gt;link&lt;/a&gt;
+ * {0} {1} ...   arguments, inserted as plain text
+ * \&lt; \{ \\     literal characters
+ * </pre>
+ *
+ * Parsed templates are kept in a bounded LRU cache keyed by the template string, together
+ * with their span objects, so showing the same template with new arguments only substitutes
+ * the values. Templates without arguments are formatted once. Safe to use from any thread.
+ */
+public final class SnackbarMarkup {
+
+    static final int DEFAULT_CACHE_SIZE = 32;
+
+    // Access-ordered, so the eldest entry is the least recently used template
+    private static final LinkedHashMap<String, Template> CACHE = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    private static int cacheSize = DEFAULT_CACHE_SIZE;
+
+    private SnackbarMarkup() {
+    }
+
+    /**
+     * Format a markup template. Use the result as a message, e.g. with
+     * {@link CustomSnackbar#showSnackbar(android.app.Activity, java.util.function.Supplier)}.
+     *
+     * @param template Markup, see the class documentation
+     * @param args     Values for {@code {0}}, {@code {1}}, ... ({@code String.valueOf} of each)
+     * @throws IllegalArgumentException If the markup is malformed or an argument is missing
+     */
+    public static CharSequence format(String template, Object... args) {
+        return template(template).format(args);
+    }
+
+    /**
+     * A message formatted only when it is shown. The template is parsed and the arguments
+     * counted now, so malformed markup still fails in the caller.
+     *
+     * @return Both the message supplier and its dedupe key: equal for the same template and
+     * arguments
+     */
+    static Message message(String template, Object... args) {
+        Template parsed = template(template);
+        parsed.checkArgs(args);
+        return new Message(template, parsed, args);
+    }
+
+    /**
+     * @param size Number of parsed templates kept (default 32, 0 disables caching)
+     */
+    static void setCacheSize(int size) {
+        synchronized (CACHE) {
+            cacheSize = size;
+            while (CACHE.size() > size) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+        }
+    }
+
+    static int cachedCount() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    static Template template(String markup) {
+        if (markup == null) {
+            throw new IllegalArgumentException("template == null");
+        }
+        synchronized (CACHE) {
+            Template template = CACHE.get(markup);
+            if (template != null) {
+                return template;
+            }
+        }
+        // Parse outside the lock; two threads racing on a new template both parse it once
+        Template template = Template.parse(markup);
+        synchronized (CACHE) {
+            if (cacheSize > 0) {
+                CACHE.put(markup, template);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * A parsed template: a run of pieces, each a literal or an argument slot, and spans that
+     * cover whole pieces.
+     */
+    static final class Template {
+        private final String[] literals;
+        // Argument index for each piece, or -1 for a literal
+        private final int[] args;
+        private final int argCount;
+        private final Object[] spans;
+        // Pieces covered by each span: [spanStart, spanEnd)
+        private final int[] spanStart;
+        private final int[] spanEnd;
+        private volatile CharSequence constant;
+
+        private Template(ArrayList<String> literals, ArrayList<Integer> args, ArrayList<Object> spans,
+                         ArrayList<int[]> ranges) {
+            int pieces = literals.size();
+            this.literals = literals.toArray(new String[pieces]);
+            this.args = new int[pieces];
+            int argCount = 0;
+            for (int i = 0; i < pieces; i++) {
+                this.args[i] = args.get(i);
+                argCount = Math.max(argCount, this.args[i] + 1);
+            }
+            this.argCount = argCount;
+            this.spans = spans.toArray();
+            this.spanStart = new int[ranges.size()];
+            this.spanEnd = new int[ranges.size()];
+            for (int i = 0; i < ranges.size(); i++) {
+                spanStart[i] = ranges.get(i)[0];
+                spanEnd[i] = ranges.get(i)[1];
+            }
+        }
+
+        CharSequence format(Object[] values) {
+            if (argCount == 0) {
+                CharSequence text = constant;
+                if (text == null) {
+                    text = build(null);
+                    if (text instanceof Spanned) {
+                        text = new SpannedString(text);
+                    }
+                    constant = text;
+                }
+                return text;
+            }
+            checkArgs(values);
+            return build(values);
+        }
+
+        void checkArgs(Object[] values) {
+            if (argCount > 0 && (values == null || values.length < argCount)) {
+                throw new IllegalArgumentException("Template needs " + argCount + " arguments");
+            }
+        }
+
+        private CharSequence build(Object[] values) {
+            StringBuilder text = new StringBuilder();
+            int[] offsets = layout(values, text);
+            if (spans.length == 0) {
+                return text.toString();
+            }
+            SpannableString spanned = new SpannableString(text);
+            for (int i = 0; i < spans.length; i++) {
+                int start = offsets[spanStart[i]];
+                int end = offsets[spanEnd[i]];
+                if (start < end) {
+                    spanned.setSpan(spans[i], start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                }
+            }
+            return spanned;
+        }
+
+        /**
+         * Append the text to {@code out}.
+         *
+         * @return Offset in {@code out} where each piece starts, plus the end offset
+         */
+        private int[] layout(Object[] values, StringBuilder out) {
+            int[] offsets = new int[literals.length + 1];
+            for (int i = 0; i < literals.length; i++) {
+                offsets[i] = out.length();
+                if (args[i] < 0) {
+                    out.append(literals[i]);
+                } else {
+                    out.append(values[args[i]]);
+                }
+            }
+            offsets[literals.length] = out.length();
+            return offsets;
+        }
+
+        static Template parse(String markup) {
+            ArrayList<String> literals = new ArrayList<>();
+            ArrayList<Integer> args = new ArrayList<>();
+            ArrayList<Object> spans = new ArrayList<>();
+            ArrayList<int[]> ranges = new ArrayList<>();
+            // Open tags: name, first piece, span
+            ArrayDeque<Object[]> open = new ArrayDeque<>();
+            StringBuilder literal = new StringBuilder();
+
+            int i = 0;
+            int length = markup.length();
+            while (i < length) {
+                char c = markup.charAt(i);
+                if (c == '\\' && i + 1 < length) {
+                    literal.append(markup.charAt(i + 1));
+                    i += 2;
+                } else if (c == '{') {
+                    int close = markup.indexOf('}', i);
+                    int index = close > i + 1 ? parseIndex(markup, i + 1, close) : -1;
+                    if (index < 0) {
+                        throw malformed(markup, i, "expected {n}");
+                    }
+                    flush(literal, literals, args);
+                    literals.add(null);
+                    args.add(index);
+                    i = close + 1;
+                } else if (c == '<') {
+                    int close = markup.indexOf('>', i);
+                    if (close < 0) {
+                        throw malformed(markup, i, "unclosed tag");
+                    }
+                    String tag = markup.substring(i + 1, close).trim();
+                    flush(literal, literals, args);
+                    if (tag.startsWith("/")) {
+                        String name = tag.substring(1).trim();
+                        Object[] top = open.pollLast();
+                        if (top == null || !top[0].equals(name)) {
+                            throw malformed(markup, i, "unexpected </" + name + ">");
+                        }
+                        spans.add(top[2]);
+                        ranges.add(new int[]{(Integer) top[1], literals.size()});
+                    } else {
+                        String name = tagName(tag);
+                        open.addLast(new Object[]{name, literals.size(), createSpan(markup, i, name, tag)});
+                    }
+                    i = close + 1;
+                } else {
+                    literal.append(c);
+                    i++;
+                }
+            }
+            if (!open.isEmpty()) {
+                throw malformed(markup, length, "unclosed <" + open.peekLast()[0] + ">");
+            }
+            flush(literal, literals, args);
+            return new Template(literals, args, spans, ranges);
+        }
+
+        private static void flush(StringBuilder literal, ArrayList<String> literals, ArrayList<Integer> args) {
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                args.add(-1);
+                literal.setLength(0);
+            }
+        }
+
+        private static Object createSpan(String markup, int position, String name, String tag) {
+            switch (name) {
+                case "b":
+                    return new StyleSpan(Typeface.BOLD);
+                case "i":
+                    return new StyleSpan(Typeface.ITALIC);
+                case "u":
+                    return new UnderlineSpan();
+                case "font":
+                    return new ForegroundColorSpan(parseColor(markup, position, attribute(markup, position, tag, "color")));
+                case "a":
+                    return new URLSpan(attribute(markup, position, tag, "href"));
+                default:
+                    throw malformed(markup, position, "unknown tag <" + name + ">");
+            }
+        }
+
+        private static String tagName(String tag) {
+            int end = 0;
+            while (end < tag.length() && !Character.isWhitespace(tag.charAt(end))) {
+                end++;
+            }
+            return tag.substring(0, end);
+        }
+
+        /**
+         * Value of {@code name="value"} (quotes optional) inside a tag.
+         */
+        private static String attribute(String markup, int position, String tag, String name) {
+            int start = tag.indexOf(name + "=");
+            if (start < 0) {
+                throw malformed(markup, position, "missing " + name + " attribute");
+            }
+            start += name.length() + 1;
+            int end;
+            if (start < tag.length() && (tag.charAt(start) == '"' || tag.charAt(start) == '\'')) {
+                char quote = tag.charAt(start++);
+                end = tag.indexOf(quote, start);
+                if (end < 0) {
+                    throw malformed(markup, position, "unclosed " + name + " attribute");
+                }
+            } else {
+                end = start;
+                while (end < tag.length() && !Character.isWhitespace(tag.charAt(end))) {
+                    end++;
+                }
+            }
+            return tag.substring(start, end);
+        }
+
+        /**
+         * @param value {@code #RRGGBB} or {@code #AARRGGBB}
+         */
+        static int parseColor(String markup, int position, String value) {
+            int digits = value.length() - 1;
+            if (value.startsWith("#") && (digits == 6 || digits == 8)) {
+                try {
+                    long color = Long.parseLong(value.substring(1), 16);
+                    return (int) (digits == 6 ? color | 0xFF000000L : color);
+                } catch (NumberFormatException ignored) {
+                    // Reported below
+                }
+            }
+            throw malformed(markup, position, "bad color " + value);
+        }
+
+        private static int parseIndex(String markup, int start, int end) {
+            int index = 0;
+            for (int i = start; i < end; i++) {
+                char c = markup.charAt(i);
+                if (c < '0' || c > '9' || index > 999) {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return index;
+        }
+
+        private static IllegalArgumentException malformed(String markup, int position, String problem) {
+            return new IllegalArgumentException("Bad snackbar markup at " + position + ": " + problem
+                    + " in \"" + markup + "\"");
+        }
+    }
+
+    /**
+     * A template and its arguments, formatted on first {@link #get()}.
+     */
+    static final class Message implements Supplier<CharSequence> {
+        private final String markup;
+        private final Template template;
+        private final Object[] args;
+
+        Message(String markup, Template template, Object[] args) {
+            this.markup = markup;
+            this.template = template;
+            this.args = args;
+        }
+
+        @Override
+        public CharSequence get() {
+            return template.format(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Message)) {
+                return false;
+            }
+            Message message = (Message) other;
+            return markup.equals(message.markup) && Arrays.equals(args, message.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * markup.hashCode() + Arrays.hashCode(args);
+        }
+    }
+}
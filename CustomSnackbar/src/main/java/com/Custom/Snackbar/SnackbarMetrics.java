@@ -0,0 +1,79 @@
+package com.Custom.Snackbar;
+
+/**
+ * Receives timings and counters from the snackbar pipeline. Install with
+ * {@link CustomSnackbar#setMetricsListener(SnackbarMetrics)}; {@link SnackbarStatsCollector}
+ * is a ready-made aggregator.
+ * <p>
+ * All callbacks run on the main thread inside the show path and must be cheap. All times are
+ * in nanoseconds from {@link System#nanoTime()}. With no listener installed none of these
+ * values are measured.
+ */
+public interface SnackbarMetrics {
+
+    /**
+     * Why a request never reached the screen.
+     */
+    enum DropReason {
+        /** Same message (or dedupe key) and style inside the duplicate window. */
+        DUPLICATE,
+        /**
+         * Folded into a newer request by {@link SnackbarQueue.OverflowPolicy#COLLAPSE}, or into
+         * a summary snackbar by a {@link SnackbarGroup}.
+         */
+        COLLAPSED,
+        /** Evicted or refused because the queue was full. */
+        OVERFLOW,
+        /** Its Activity was finishing or destroyed by the time it was due. */
+        DESTROYED,
+        /** Sent without an Activity and no Activity resumed before it expired. */
+        EXPIRED,
+        /** Over the rate set with {@link CustomSnackbar#setRateLimit(SnackbarRateLimiter.Config)}. */
+        RATE_LIMITED,
+        /** Discarded while waiting by {@link CustomSnackbar#clearQueue()}. */
+        CLEARED,
+        /**
+         * An undo snackbar that could not be shown, whatever the cause: its operation was
+         * committed without the user ever seeing Undo. Undo snackbars are never evicted to
+         * make room, so this means their Activity went away, or the queue was full of other
+         * undo snackbars.
+         */
+        UNDO_COMMITTED
+    }
+
+    /**
+     * Main-thread time spent inflating or restyling and showing one snackbar.
+     */
+    default void onShowCall(long durationNanos) {
+    }
+
+    /**
+     * A snackbar became fully visible, {@code latencyNanos} after its show method was called.
+     */
+    default void onShown(SnackbarPriority priority, long latencyNanos) {
+    }
+
+    /**
+     * A snackbar went away after being visible for {@code visibleNanos}.
+     *
+     * @param dismissEvent One of the {@code Snackbar.Callback.DISMISS_EVENT_*} constants
+     */
+    default void onDismissed(int dismissEvent, long visibleNanos) {
+    }
+
+    /**
+     * A snackbar was held back for {@code deferredNanos} waiting for frame headroom, see
+     * {@link SnackbarQueue.Config.Builder#setMaxShowDeferralMs(int)}.
+     */
+    default void onShowDeferred(SnackbarPriority priority, long deferredNanos) {
+    }
+
+    default void onDropped(DropReason reason, int count) {
+    }
+
+    /**
+     * Number of requests waiting behind the visible snackbar changed.
+     */
+    default void onQueueDepth(int depth) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.Custom.Snackbar;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The ordered stages every {@link SnackbarRequest} passes through on its way to the screen:
+ * <ol>
+ * <li><b>filter</b> - {@link Filter}s, on the calling thread, may drop the request;</li>
+ * <li><b>transform</b> - {@link Transform}s, on the calling thread, may rewrite it;</li>
+ * <li><b>schedule</b> - the {@link SnackbarQueue} decides when (and whether) it is shown;</li>
+ * <li><b>render</b> - the queue's {@link SnackbarQueue.Presenter} puts it on screen;</li>
+ * <li><b>observe</b> - {@link Observer}s hear when it became visible and went away.</li>
+ * </ol>
+ * Schedule and render are fixed; the other stages are empty unless a feature installs
+ * something, and an empty stage costs one array length check.
+ * <p>
+ * Filters and transforms run before the hand-off to the main thread, so a request rejected
+ * from a background thread never reaches the queue. Their drops are counted lock-free and
+ * reported to the queue's metrics in one main-thread task per burst. The same task recycles the
+ * dropped requests: recycling finishes a request's undo operation, which is main thread only.
+ */
+final class SnackbarPipeline {
+
+    /**
+     * Decides whether a request goes on. Called from any thread, concurrently.
+     */
+    interface Filter {
+        /**
+         * @return {@code null} to let the request through, otherwise why it is dropped
+         */
+        SnackbarMetrics.DropReason filter(SnackbarRequest request);
+    }
+
+    /**
+     * Rewrites a request that passed every filter, before duplicate suppression sees it.
+     * Called from any thread, concurrently.
+     */
+    interface Transform {
+        void transform(SnackbarRequest request);
+    }
+
+    /**
+     * Hears about requests the queue showed. Main thread only; the request is recycled
+     * right after {@link #onDismissed} returns and must not be kept.
+     */
+    interface Observer {
+        default void onShown(SnackbarRequest request) {
+        }
+
+        /**
+         * @param dismissEvent One of the {@code Snackbar.Callback.DISMISS_EVENT_*} constants
+         */
+        default void onDismissed(SnackbarRequest request, int dismissEvent) {
+        }
+    }
+
+    private static final SnackbarMetrics.DropReason[] REASONS = SnackbarMetrics.DropReason.values();
+
+    private final SnackbarQueue queue;
+    private final Executor mainExecutor;
+
+    // Copy-on-write, so the show path reads them without locking
+    private volatile Filter[] filters = new Filter[0];
+    private volatile Transform[] transforms = new Transform[0];
+    private Observer[] observers = new Observer[0];
+
+    private final AtomicIntegerArray pendingDrops = new AtomicIntegerArray(REASONS.length);
+    private final ConcurrentLinkedQueue<SnackbarRequest> dropped = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dropReportScheduled = new AtomicBoolean();
+    private final Runnable reportDrops = new Runnable() {
+        @Override
+        public void run() {
+            dropReportScheduled.set(false);
+            SnackbarRequest request;
+            while ((request = dropped.poll()) != null) {
+                request.recycle();
+            }
+            for (int i = 0; i < REASONS.length; i++) {
+                queue.reportDropped(REASONS[i], pendingDrops.getAndSet(i, 0));
+            }
+        }
+    };
+    private final Observer fanOut = new Observer() {
+        @Override
+        public void onShown(SnackbarRequest request) {
+            for (Observer observer : observers) {
+                observer.onShown(request);
+            }
+        }
+
+        @Override
+        public void onDismissed(SnackbarRequest request, int dismissEvent) {
+            for (Observer observer : observers) {
+                observer.onDismissed(request, dismissEvent);
+            }
+        }
+    };
+
+    SnackbarPipeline(SnackbarQueue queue) {
+        this(queue, runnable -> SnackbarExecutors.main().post(runnable));
+    }
+
+    /**
+     * @param mainExecutor Runs drop reports and recycling on the queue's thread
+     */
+    SnackbarPipeline(SnackbarQueue queue, Executor mainExecutor) {
+        this.queue = queue;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * Run the filter and transform stages. Safe to call from any thread.
+     *
+     * @return {@code true} if the request should be scheduled; otherwise it belongs to the
+     *         pipeline, which recycles it on the main thread
+     */
+    boolean process(SnackbarRequest request) {
+        Filter[] filters = this.filters;
+        for (Filter filter : filters) {
+            SnackbarMetrics.DropReason reason = filter.filter(request);
+            if (reason != null) {
+                dropped.add(request);
+                pendingDrops.incrementAndGet(reason.ordinal());
+                if (dropReportScheduled.compareAndSet(false, true)) {
+                    mainExecutor.execute(reportDrops);
+                }
+                return false;
+            }
+        }
+        Transform[] transforms = this.transforms;
+        for (Transform transform : transforms) {
+            transform.transform(request);
+        }
+        return true;
+    }
+
+    /**
+     * Append a filter; filters run in the order they were added.
+     */
+    synchronized void addFilter(Filter filter) {
+        filters = append(filters, filter);
+    }
+
+    synchronized void removeFilter(Filter filter) {
+        filters = remove(filters, filter);
+    }
+
+    /**
+     * Append a transform; transforms run in the order they were added.
+     */
+    synchronized void addTransform(Transform transform) {
+        transforms = append(transforms, transform);
+    }
+
+    synchronized void removeTransform(Transform transform) {
+        transforms = remove(transforms, transform);
+    }
+
+    /**
+     * Main thread only.
+     */
+    void addObserver(Observer observer) {
+        observers = append(observers, observer);
+        queue.setObserver(fanOut);
+    }
+
+    /**
+     * Main thread only.
+     */
+    void removeObserver(Observer observer) {
+        observers = remove(observers, observer);
+        queue.setObserver(observers.length == 0 ? null : fanOut);
+    }
+
+    private static <T> T[] append(T[] stages, T stage) {
+        if (stage == null) {
+            throw new IllegalArgumentException("stage == null");
+        }
+        T[] result = Arrays.copyOf(stages, stages.length + 1);
+        result[stages.length] = stage;
+        return result;
+    }
+
+    private static <T> T[] remove(T[] stages, T stage) {
+        for (int i = 0; i < stages.length; i++) {
+            if (stages[i] == stage) {
+                T[] result = Arrays.copyOf(stages, stages.length - 1);
+                System.arraycopy(stages, i + 1, result, i, stages.length - i - 1);
+                return result;
+            }
+        }
+        return stages;
+    }
+}
@@ -0,0 +1,59 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+
+/**
+ * Moves the one-time costs of the first snackbar in a process out of the user-visible path.
+ * <p>
+ * Class loading and static initialization of the Material snackbar stack happen on a
+ * background thread. Inflating and measuring the first snackbar must stay on the main thread
+ * (Material creates its views and handlers there), so that part runs from an idle handler
+ * once the Activity has finished drawing.
+ */
+final class SnackbarPrewarmer {
+
+    private static final String[] MATERIAL_CLASSES = {
+            "com.google.android.material.snackbar.Snackbar",
+            "com.google.android.material.snackbar.Snackbar$SnackbarLayout",
+            "com.google.android.material.snackbar.SnackbarContentLayout",
+            "com.google.android.material.snackbar.BaseTransientBottomBar",
+            "com.google.android.material.snackbar.SnackbarManager",
+            "com.google.android.material.behavior.SwipeDismissBehavior",
+    };
+
+    private SnackbarPrewarmer() {
+    }
+
+    static void prewarm(final Context context, final SnackbarRenderer renderer, final SnackbarStyle[] styles) {
+        SnackbarExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                loadClasses();
+            }
+        });
+
+        SnackbarExecutors.main().post(new Runnable() {
+            @Override
+            public void run() {
+                if (context instanceof Activity) {
+                    renderer.prewarmWhenIdle((Activity) context, styles);
+                } else if (context.getApplicationContext() instanceof Application) {
+                    renderer.prewarmOnFirstResume((Application) context.getApplicationContext(), styles);
+                }
+            }
+        });
+    }
+
+    private static void loadClasses() {
+        ClassLoader classLoader = SnackbarPrewarmer.class.getClassLoader();
+        for (String name : MATERIAL_CLASSES) {
+            try {
+                Class.forName(name, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // Renamed by R8 or not present in this Material version; nothing to warm
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.Custom.Snackbar;
+
+/**
+ * How important a snackbar is relative to others waiting in the {@link SnackbarQueue}.
+ * Higher priorities are shown first, survive overflow longer and can cut short a
+ * lower-priority snackbar that is already on screen.
+ */
+public enum SnackbarPriority {
+    /** Confirmations that can be dropped under load (e.g. "Saved"). */
+    LOW,
+    /** Default for all overloads without an explicit priority. */
+    NORMAL,
+    /** Shortens a lower-priority snackbar on screen instead of waiting for its full duration. */
+    HIGH,
+    /** Dismisses a lower-priority snackbar on screen immediately (e.g. "Payment failed"). */
+    CRITICAL
+}
@@ -0,0 +1,813 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded, coalescing queue that sits between the static {@link CustomSnackbar} API and
+ * Material's {@code Snackbar}.
+ * <p>
+ * Requests are shown one at a time, highest {@link SnackbarPriority} first. While a snackbar
+ * is on screen new requests wait in a bounded buffer; duplicates (same message or dedupe key
+ * and style within {@link Config#getDedupeWindowMs()}) are dropped before they cost a view,
+ * and a full buffer sheds the lowest priorities first, then applies the configured
+ * {@link OverflowPolicy}. Work per call stays constant no matter how many requests arrive.
+ * <p>
+ * A {@link SnackbarPriority#HIGH} request shortens a lower-priority snackbar on screen to
+ * {@link Config#getPreemptedDurationMs()}; a {@link SnackbarPriority#CRITICAL} one dismisses it
+ * right away.
+ * <p>
+ * Must only be used from the main thread.
+ */
+public final class SnackbarQueue {
+
+    /**
+     * What to do with a new request when the buffer is already full.
+     */
+    public enum OverflowPolicy {
+        /** Evict the oldest waiting request to make room for the new one. */
+        DROP_OLDEST,
+        /** Keep the waiting requests and discard the new one. */
+        DROP_NEWEST,
+        /** Replace everything that is waiting with the new request. */
+        COLLAPSE
+    }
+
+    /**
+     * Immutable queue configuration. Create with {@link Builder}.
+     */
+    public static final class Config {
+
+        public static final Config DEFAULT = new Builder().build();
+
+        private final int capacity;
+        private final long dedupeWindowMs;
+        private final OverflowPolicy overflowPolicy;
+        private final int preemptedDurationMs;
+        private final int maxShowDeferralMs;
+        private final boolean perWindow;
+
+        private Config(Builder builder) {
+            this.capacity = builder.capacity;
+            this.dedupeWindowMs = builder.dedupeWindowMs;
+            this.overflowPolicy = builder.overflowPolicy;
+            this.preemptedDurationMs = builder.preemptedDurationMs;
+            this.maxShowDeferralMs = builder.maxShowDeferralMs;
+            this.perWindow = builder.perWindow;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getDedupeWindowMs() {
+            return dedupeWindowMs;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public int getPreemptedDurationMs() {
+            return preemptedDurationMs;
+        }
+
+        public int getMaxShowDeferralMs() {
+            return maxShowDeferralMs;
+        }
+
+        public boolean isPerWindow() {
+            return perWindow;
+        }
+
+        public static final class Builder {
+            private int capacity = 8;
+            private long dedupeWindowMs = 2000;
+            private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+            private int preemptedDurationMs = 1000;
+            private int maxShowDeferralMs;
+            private boolean perWindow;
+
+            /**
+             * @param capacity Maximum number of requests waiting behind the visible snackbar
+             */
+            public Builder setCapacity(int capacity) {
+                if (capacity < 1) {
+                    throw new IllegalArgumentException("capacity must be at least 1");
+                }
+                this.capacity = capacity;
+                return this;
+            }
+
+            /**
+             * @param dedupeWindowMs Identical requests within this window are dropped (0 = disabled)
+             */
+            public Builder setDedupeWindowMs(long dedupeWindowMs) {
+                if (dedupeWindowMs < 0) {
+                    throw new IllegalArgumentException("dedupeWindowMs must not be negative");
+                }
+                this.dedupeWindowMs = dedupeWindowMs;
+                return this;
+            }
+
+            public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+                if (overflowPolicy == null) {
+                    throw new IllegalArgumentException("overflowPolicy == null");
+                }
+                this.overflowPolicy = overflowPolicy;
+                return this;
+            }
+
+            /**
+             * @param preemptedDurationMs Remaining time given to a visible snackbar when a
+             *                            {@link SnackbarPriority#HIGH} request arrives behind it
+             */
+            public Builder setPreemptedDurationMs(int preemptedDurationMs) {
+                if (preemptedDurationMs < 1) {
+                    throw new IllegalArgumentException("preemptedDurationMs must be positive");
+                }
+                this.preemptedDurationMs = preemptedDurationMs;
+                return this;
+            }
+
+            /**
+             * @param maxShowDeferralMs {@link SnackbarPriority#LOW} and {@link SnackbarPriority#NORMAL}
+             *                          snackbars wait up to this long for the main thread to have
+             *                          frame headroom before sliding in (0 = show at once, the default)
+             */
+            public Builder setMaxShowDeferralMs(int maxShowDeferralMs) {
+                if (maxShowDeferralMs < 0) {
+                    throw new IllegalArgumentException("maxShowDeferralMs must not be negative");
+                }
+                this.maxShowDeferralMs = maxShowDeferralMs;
+                return this;
+            }
+
+            /**
+             * @param perWindow Give every window (split-screen half, freeform window, display) its
+             *                  own buffer, priorities, duplicate window and deferral, so one window's
+             *                  backlog never holds up another's. Windows take turns on screen; a
+             *                  visible snackbar gets the preempted duration once another window is
+             *                  waiting. Capacity applies per window. Set before the first snackbar.
+             *                  There is no per-window concurrency limit to set: Material's
+             *                  SnackbarManager keeps one snackbar visible per process, so at most
+             *                  one window shows a snackbar at any time.
+             */
+            public Builder setPerWindow(boolean perWindow) {
+                this.perWindow = perWindow;
+                return this;
+            }
+
+            public Config build() {
+                return new Config(this);
+            }
+        }
+    }
+
+    /**
+     * Puts a request on screen and takes it down again.
+     */
+    interface Presenter {
+        /**
+         * Returns a handle identifying the shown snackbar, or {@code null} if the request
+         * could not be shown (e.g. its Activity is finishing).
+         */
+        Object show(SnackbarRequest request);
+
+        void dismiss(Object handle);
+
+        /**
+         * Restart the visible snackbar's timeout with {@code durationMs}.
+         */
+        void shorten(Object handle, int durationMs);
+    }
+
+    /**
+     * Decides when a non-urgent snackbar may start its entrance animation.
+     */
+    interface ShowGate {
+        /**
+         * @return {@code true} to show now; {@code false} after arranging a call to
+         *         {@link #onGateOpen()}, at the latest at {@code deadlineNanos}. Called again
+         *         while a call is arranged, the earlier one is replaced.
+         */
+        boolean tryPass(long deadlineNanos);
+
+        /**
+         * Withdraw the arranged {@link #onGateOpen()} call; nothing is waiting any more.
+         */
+        default void cancel() {
+        }
+    }
+
+    private static final SnackbarPriority[] PRIORITIES = SnackbarPriority.values();
+
+    private final Presenter presenter;
+    // One FIFO lane per priority; the highest non-empty lane is shown next
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<SnackbarRequest>[] lanes = new ArrayDeque[PRIORITIES.length];
+    private int pendingCount;
+    private Config config;
+
+    private SnackbarRequest current;
+    private Object currentHandle;
+    private boolean currentShortened;
+    private long currentShownNanos;
+    private SnackbarMetrics metrics;
+    private SnackbarPipeline.Observer observer;
+    private ShowGate gate;
+    private boolean gateWaiting;
+    private boolean gatePassed;
+    private long gateWaitStartNanos;
+    private final long[] worstShowLatencyNanos = new long[PRIORITIES.length];
+    // Per-window queues, created once the config asks for them; never nested
+    private SnackbarWindowShards windows;
+    private final boolean windowQueue;
+
+    // Ring of recently accepted requests, used for duplicate suppression without allocating
+    private Object[] recentKeys;
+    private int[] recentStyles;
+    private long[] recentTimes;
+    private int recentIndex;
+
+    SnackbarQueue(Config config, Presenter presenter) {
+        this(config, presenter, false);
+    }
+
+    /**
+     * @param windowQueue Whether this is one window's queue inside {@link SnackbarWindowShards}
+     */
+    SnackbarQueue(Config config, Presenter presenter, boolean windowQueue) {
+        this.presenter = presenter;
+        this.windowQueue = windowQueue;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+        setConfig(config);
+    }
+
+    void setConfig(Config config) {
+        this.config = config;
+        if (windows != null) {
+            windows.setConfig(config);
+        } else if (config.perWindow && !windowQueue) {
+            windows = new SnackbarWindowShards(presenter, config);
+            windows.setMetrics(metrics);
+            windows.setObserver(observer);
+            windows.setGated(gate != null);
+        }
+        int size = config.capacity + 1;
+        recentKeys = new Object[size];
+        recentStyles = new int[size];
+        recentTimes = new long[size];
+        recentIndex = 0;
+        int trimmed = 0;
+        while (pendingCount > config.capacity) {
+            SnackbarRequest evicted = evict(lanes.length - 1, false);
+            if (evicted == null) {
+                // Nothing but undo requests left
+                evicted = lanes[lowestNonEmptyLane()].pollFirst();
+            }
+            pendingCount--;
+            trimmed++;
+            drop(evicted, SnackbarMetrics.DropReason.OVERFLOW);
+        }
+        if (trimmed > 0) {
+            reportDepth();
+        }
+    }
+
+    Config getConfig() {
+        return config;
+    }
+
+    void setMetrics(SnackbarMetrics metrics) {
+        this.metrics = metrics;
+        if (windows != null) {
+            windows.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * The observe stage of the {@link SnackbarPipeline} (null when nothing observes).
+     */
+    void setObserver(SnackbarPipeline.Observer observer) {
+        this.observer = observer;
+        if (windows != null) {
+            windows.setObserver(observer);
+        }
+    }
+
+    /**
+     * Consulted before showing when {@link Config#getMaxShowDeferralMs()} is set.
+     */
+    void setShowGate(ShowGate gate) {
+        this.gate = gate;
+        if (windows != null) {
+            windows.setGated(gate != null);
+        }
+    }
+
+    /**
+     * Called by the {@link ShowGate} once the deferred snackbar may be shown.
+     */
+    void onGateOpen() {
+        if (!gateWaiting) {
+            return;
+        }
+        gateWaiting = false;
+        if (current == null) {
+            gatePassed = true;
+            showNext();
+            gatePassed = false;
+        }
+    }
+
+    /**
+     * @return {@code true} if the request was accepted, {@code false} if it was dropped
+     */
+    boolean enqueue(SnackbarRequest request) {
+        if (windows != null && config.perWindow && request.activity != null) {
+            return windows.enqueue(request);
+        }
+        long now = System.nanoTime();
+        request.enqueueTimeNanos = now;
+        int style = request.styleHash();
+        Object key = request.dedupeKey();
+        boolean dedupe = config.dedupeWindowMs != 0;
+        if (dedupe && isDuplicate(key, style, now)) {
+            reportDropped(SnackbarMetrics.DropReason.DUPLICATE, 1);
+            request.recycle();
+            return false;
+        }
+
+        int priority = request.priority.ordinal();
+        if (pendingCount >= config.capacity && !makeRoom(request, priority)) {
+            drop(request, SnackbarMetrics.DropReason.OVERFLOW);
+            return false;
+        }
+
+        if (dedupe && key != null) {
+            remember(key, style, now);
+        }
+        lanes[priority].addLast(request);
+        pendingCount++;
+        reportDepth();
+        if (current == null) {
+            showNext();
+        } else {
+            preempt(priority);
+        }
+        return true;
+    }
+
+    /**
+     * Shed load from the lowest priority first. Lower lanes are always evicted before the
+     * incoming request is refused; the overflow policy decides within the same priority.
+     * Undo requests are never evicted or collapsed, since dropping one commits its operation
+     * before the user could undo it.
+     */
+    private boolean makeRoom(SnackbarRequest request, int priority) {
+        SnackbarRequest evicted;
+        switch (config.overflowPolicy) {
+            case DROP_NEWEST:
+                evicted = evict(priority - 1, true);
+                break;
+            case DROP_OLDEST:
+                evicted = evict(priority, false);
+                break;
+            case COLLAPSE:
+                int collapsed = 0;
+                for (int i = 0; i <= priority; i++) {
+                    // Rotate the lane once, keeping undo requests in their order
+                    for (int n = lanes[i].size(); n > 0; n--) {
+                        SnackbarRequest waiting = lanes[i].pollFirst();
+                        if (waiting.undo != null) {
+                            lanes[i].addLast(waiting);
+                            continue;
+                        }
+                        request.collapsedCount += 1 + waiting.collapsedCount;
+                        waiting.recycle();
+                        collapsed++;
+                    }
+                }
+                pendingCount -= collapsed;
+                reportDropped(SnackbarMetrics.DropReason.COLLAPSED, collapsed);
+                return collapsed > 0;
+            default:
+                return false;
+        }
+        if (evicted == null) {
+            return false;
+        }
+        pendingCount--;
+        reportDropped(SnackbarMetrics.DropReason.OVERFLOW, 1);
+        evicted.recycle();
+        return true;
+    }
+
+    /**
+     * Take the oldest (or newest) request that is not an undo out of the lowest lane holding
+     * one, up to {@code maxPriority}; {@code null} if there is none.
+     */
+    private SnackbarRequest evict(int maxPriority, boolean newest) {
+        for (int i = 0; i <= maxPriority; i++) {
+            ArrayDeque<SnackbarRequest> lane = lanes[i];
+            SnackbarRequest end = newest ? lane.peekLast() : lane.peekFirst();
+            if (end == null) {
+                continue;
+            }
+            if (end.undo == null) {
+                // The common case, without an iterator
+                return newest ? lane.pollLast() : lane.pollFirst();
+            }
+            Iterator<SnackbarRequest> it = newest ? lane.descendingIterator() : lane.iterator();
+            while (it.hasNext()) {
+                SnackbarRequest request = it.next();
+                if (request.undo == null) {
+                    it.remove();
+                    return request;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void preempt(int priority) {
+        int currentPriority = current.priority.ordinal();
+        if (priority <= currentPriority) {
+            return;
+        }
+        if (priority >= SnackbarPriority.CRITICAL.ordinal()) {
+            presenter.dismiss(currentHandle);
+        } else if (priority >= SnackbarPriority.HIGH.ordinal() && !currentShortened) {
+            currentShortened = true;
+            presenter.shorten(currentHandle, config.preemptedDurationMs);
+        }
+    }
+
+    /**
+     * Called by the presenter once the snackbar identified by {@code handle} is fully visible.
+     */
+    void onShown(Object handle) {
+        if (windows != null && windows.onShown(handle)) {
+            return;
+        }
+        if (handle == null || handle != currentHandle) {
+            return;
+        }
+        int priority = current.priority.ordinal();
+        currentShownNanos = System.nanoTime();
+        long latency = currentShownNanos - current.createdNanos;
+        if (latency > worstShowLatencyNanos[priority]) {
+            worstShowLatencyNanos[priority] = latency;
+        }
+        if (metrics != null) {
+            metrics.onShown(current.priority, latency);
+        }
+        if (observer != null) {
+            observer.onShown(current);
+        }
+    }
+
+    /**
+     * Called by the presenter when the snackbar identified by {@code handle} has gone away.
+     *
+     * @param event One of the {@code Snackbar.Callback.DISMISS_EVENT_*} constants
+     */
+    void onDismissed(Object handle, int event) {
+        if (windows != null && windows.onDismissed(handle, event)) {
+            return;
+        }
+        if (handle == null || handle != currentHandle) {
+            return;
+        }
+        if (metrics != null && currentShownNanos != 0) {
+            metrics.onDismissed(event, System.nanoTime() - currentShownNanos);
+        }
+        if (observer != null && currentShownNanos != 0) {
+            observer.onDismissed(current, event);
+        }
+        currentShownNanos = 0;
+        current.recycle();
+        current = null;
+        currentHandle = null;
+        currentShortened = false;
+        showNext();
+    }
+
+    /**
+     * Longest time from the show call to {@code onShown} seen so far for {@code priority}.
+     */
+    long getWorstShowLatencyNanos(SnackbarPriority priority) {
+        long worst = worstShowLatencyNanos[priority.ordinal()];
+        return windows != null ? Math.max(worst, windows.getWorstShowLatencyNanos(priority)) : worst;
+    }
+
+    void resetShowLatency() {
+        Arrays.fill(worstShowLatencyNanos, 0);
+        if (windows != null) {
+            windows.resetShowLatency();
+        }
+    }
+
+    int size() {
+        return windows != null ? pendingCount + windows.size() : pendingCount;
+    }
+
+    boolean isShowing() {
+        return current != null || (windows != null && windows.isShowing());
+    }
+
+    /**
+     * Drop everything waiting; the visible snackbar is left alone.
+     */
+    void clear() {
+        for (ArrayDeque<SnackbarRequest> lane : lanes) {
+            SnackbarRequest request;
+            while ((request = lane.pollFirst()) != null) {
+                drop(request, SnackbarMetrics.DropReason.CLEARED);
+            }
+        }
+        pendingCount = 0;
+        reportDepth();
+        if (windows != null) {
+            windows.clear();
+        }
+    }
+
+    /**
+     * Take every request for {@code activity} out of the queue, including the one on screen,
+     * whose snackbar is dismissed. With {@code parked} the requests are moved there in show
+     * order so they can be {@link #restore restored} later; otherwise they are dropped.
+     */
+    void removeAll(Activity activity, List<SnackbarRequest> parked) {
+        if (windows != null) {
+            windows.removeAll(activity, parked);
+        }
+        if (current != null && current.activity == activity) {
+            SnackbarRequest request = current;
+            Object handle = currentHandle;
+            if (metrics != null && currentShownNanos != 0) {
+                metrics.onDismissed(BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL,
+                        System.nanoTime() - currentShownNanos);
+            }
+            if (observer != null && currentShownNanos != 0) {
+                observer.onDismissed(request, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+            }
+            // Forget it first: the presenter's late onDismissed for this handle is then ignored
+            current = null;
+            currentHandle = null;
+            currentShortened = false;
+            currentShownNanos = 0;
+            presenter.dismiss(handle);
+            if (parked != null) {
+                request.activity = null;
+                parked.add(request);
+            } else {
+                // Already shown, so not a drop
+                forget(request.dedupeKey());
+                request.recycle();
+            }
+        }
+        int removed = 0;
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            for (Iterator<SnackbarRequest> it = lanes[i].iterator(); it.hasNext(); ) {
+                SnackbarRequest request = it.next();
+                if (request.activity == activity) {
+                    it.remove();
+                    removed++;
+                    park(request, parked);
+                }
+            }
+        }
+        if (removed > 0) {
+            pendingCount -= removed;
+            reportDepth();
+        }
+        if (current == null) {
+            showNext();
+        }
+    }
+
+    /**
+     * Put requests taken out by {@link #removeAll} back in front of their lanes, now bound to
+     * {@code activity}. Duplicate suppression does not apply; the buffer limit does.
+     */
+    void restore(List<SnackbarRequest> parked, Activity activity) {
+        if (windows != null && config.perWindow) {
+            windows.restore(parked, activity);
+            return;
+        }
+        int highest = -1;
+        for (int i = parked.size() - 1; i >= 0; i--) {
+            SnackbarRequest request = parked.get(i);
+            int priority = request.priority.ordinal();
+            if (pendingCount >= config.capacity && !makeRoom(request, priority)) {
+                drop(request, SnackbarMetrics.DropReason.OVERFLOW);
+                continue;
+            }
+            request.activity = activity;
+            lanes[priority].addFirst(request);
+            pendingCount++;
+            highest = Math.max(highest, priority);
+        }
+        parked.clear();
+        if (highest < 0) {
+            return;
+        }
+        reportDepth();
+        if (current == null) {
+            showNext();
+        } else {
+            preempt(highest);
+        }
+    }
+
+    /**
+     * Drop requests taken out by {@link #removeAll} that have nowhere to go. A request that
+     * was on screen when parked counts as dropped too, since it was cut short.
+     */
+    void discard(List<SnackbarRequest> parked) {
+        for (int i = 0; i < parked.size(); i++) {
+            SnackbarRequest request = parked.get(i);
+            forget(request.dedupeKey());
+            drop(request, SnackbarMetrics.DropReason.DESTROYED);
+        }
+        parked.clear();
+    }
+
+    private void park(SnackbarRequest request, List<SnackbarRequest> parked) {
+        if (parked != null) {
+            request.activity = null;
+            parked.add(request);
+        } else {
+            forget(request.dedupeKey());
+            drop(request, SnackbarMetrics.DropReason.DESTROYED);
+        }
+    }
+
+    private void showNext() {
+        SnackbarRequest next;
+        while ((next = peekHighest()) != null) {
+            if (mustDefer(next)) {
+                return;
+            }
+            pollHighest();
+            reportDepth();
+            Object handle;
+            if (metrics != null) {
+                long start = System.nanoTime();
+                handle = presenter.show(next);
+                metrics.onShowCall(System.nanoTime() - start);
+            } else {
+                handle = presenter.show(next);
+            }
+            if (handle != null) {
+                current = next;
+                currentHandle = handle;
+                return;
+            }
+            drop(next, SnackbarMetrics.DropReason.DESTROYED);
+        }
+    }
+
+    /**
+     * Recycle a request that never reached the screen and report why. An undo request is
+     * reported as {@link SnackbarMetrics.DropReason#UNDO_COMMITTED} instead, since recycling
+     * commits its operation.
+     */
+    void drop(SnackbarRequest request, SnackbarMetrics.DropReason reason) {
+        reportDropped(request.undo != null ? SnackbarMetrics.DropReason.UNDO_COMMITTED : reason, 1);
+        request.recycle();
+    }
+
+    void reportDropped(SnackbarMetrics.DropReason reason, int count) {
+        if (metrics != null && count > 0) {
+            metrics.onDropped(reason, count);
+        }
+    }
+
+    private void reportDepth() {
+        if (metrics != null) {
+            metrics.onQueueDepth(pendingCount);
+        }
+    }
+
+    /**
+     * Whether {@code next} has to wait for the {@link ShowGate}. Urgent requests never wait.
+     */
+    private boolean mustDefer(SnackbarRequest next) {
+        if (gate == null || config.maxShowDeferralMs == 0) {
+            return false;
+        }
+        if (next.priority.ordinal() >= SnackbarPriority.HIGH.ordinal()) {
+            // A request waiting at the gate starts over once it is next in line again, so the
+            // urgent snackbar's time on screen is not reported as its deferral
+            if (gateWaiting) {
+                gateWaiting = false;
+                gate.cancel();
+            }
+            gateWaitStartNanos = 0;
+            return false;
+        }
+        if (gatePassed) {
+            gatePassed = false;
+        } else if (gateWaiting) {
+            return true;
+        } else {
+            long deadline = next.enqueueTimeNanos + config.maxShowDeferralMs * 1_000_000L;
+            if (!gate.tryPass(deadline)) {
+                gateWaiting = true;
+                gateWaitStartNanos = System.nanoTime();
+                return true;
+            }
+        }
+        if (gateWaitStartNanos != 0) {
+            if (metrics != null) {
+                metrics.onShowDeferred(next.priority, System.nanoTime() - gateWaitStartNanos);
+            }
+            gateWaitStartNanos = 0;
+        }
+        return false;
+    }
+
+    private SnackbarRequest peekHighest() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            SnackbarRequest request = lanes[i].peekFirst();
+            if (request != null) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private SnackbarRequest pollHighest() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            SnackbarRequest request = lanes[i].pollFirst();
+            if (request != null) {
+                pendingCount--;
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private int lowestNonEmptyLane() {
+        for (int i = 0; i < lanes.length; i++) {
+            if (!lanes[i].isEmpty()) {
+                return i;
+            }
+        }
+        return lanes.length;
+    }
+
+    /**
+     * Also lets go of expired keys, which may be messages whose spans reach an Activity.
+     * A {@code null} key is never a duplicate.
+     */
+    private boolean isDuplicate(Object key, int style, long now) {
+        long windowNanos = config.dedupeWindowMs * 1_000_000L;
+        boolean duplicate = false;
+        for (int i = 0; i < recentKeys.length; i++) {
+            if (recentKeys[i] == null) {
+                continue;
+            }
+            if (now - recentTimes[i] >= windowNanos) {
+                recentKeys[i] = null;
+            } else if (!duplicate && key != null
+                    && recentStyles[i] == style
+                    && SnackbarRequest.sameKey(recentKeys[i], key)) {
+                duplicate = true;
+            }
+        }
+        return duplicate;
+    }
+
+    private void remember(Object key, int style, long now) {
+        recentKeys[recentIndex] = key;
+        recentStyles[recentIndex] = style;
+        recentTimes[recentIndex] = now;
+        recentIndex = (recentIndex + 1) % recentKeys.length;
+    }
+
+    /**
+     * Drop a request's key from the duplicate window once its Activity is gone for good.
+     */
+    private void forget(Object key) {
+        if (key == null) {
+            return;
+        }
+        for (int i = 0; i < recentKeys.length; i++) {
+            if (recentKeys[i] == key) {
+                recentKeys[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.Custom.Snackbar;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting in front of the queue, one bucket for all requests and one per
+ * key. The key is the request's dedupe key: its message text, or the key given to the lazy
+ * {@code showSnackbar} overloads, so a retry loop repeating one message is throttled on its
+ * own without starving other callers.
+ * <p>
+ * Runs as a {@link SnackbarPipeline} filter on the calling thread. Each bucket is a single
+ * {@link AtomicLong} updated with compare-and-set (the virtual-scheduling form of the token
+ * bucket); finding a key's bucket takes a short lock only when a per-key rate is set, and a
+ * suppressed request never reaches the queue or costs a view. {@link SnackbarPriority#CRITICAL}
+ * requests are never limited, and neither are undo snackbars: dropping one would commit its
+ * operation without ever offering Undo.
+ * <p>
+ * Install with {@link CustomSnackbar#setRateLimit(Config)}.
+ */
+public final class SnackbarRateLimiter {
+
+    /**
+     * Immutable rate limit configuration. Create with {@link Builder}.
+     */
+    public static final class Config {
+
+        private final double globalPerSecond;
+        private final int globalBurst;
+        private final double perKeyPerSecond;
+        private final int perKeyBurst;
+        private final int maxTrackedKeys;
+
+        private Config(Builder builder) {
+            this.globalPerSecond = builder.globalPerSecond;
+            this.globalBurst = builder.globalBurst;
+            this.perKeyPerSecond = builder.perKeyPerSecond;
+            this.perKeyBurst = builder.perKeyBurst;
+            this.maxTrackedKeys = builder.maxTrackedKeys;
+        }
+
+        public double getGlobalPerSecond() {
+            return globalPerSecond;
+        }
+
+        public int getGlobalBurst() {
+            return globalBurst;
+        }
+
+        public double getPerKeyPerSecond() {
+            return perKeyPerSecond;
+        }
+
+        public int getPerKeyBurst() {
+            return perKeyBurst;
+        }
+
+        public int getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+
+        public static final class Builder {
+            private double globalPerSecond;
+            private int globalBurst = 1;
+            private double perKeyPerSecond;
+            private int perKeyBurst = 1;
+            private int maxTrackedKeys = 64;
+
+            /**
+             * @param perSecond Sustained requests per second across all callers (0 = unlimited, the default)
+             * @param burst     Requests accepted back to back before the rate applies
+             */
+            public Builder setGlobalRate(double perSecond, int burst) {
+                checkRate(perSecond, burst);
+                this.globalPerSecond = perSecond;
+                this.globalBurst = burst;
+                return this;
+            }
+
+            /**
+             * @param perSecond Sustained requests per second for one key (0 = unlimited, the default)
+             * @param burst     Requests with the same key accepted back to back before the rate applies
+             */
+            public Builder setPerKeyRate(double perSecond, int burst) {
+                checkRate(perSecond, burst);
+                this.perKeyPerSecond = perSecond;
+                this.perKeyBurst = burst;
+                return this;
+            }
+
+            /**
+             * @param maxTrackedKeys Keys with their own bucket (default 64). Beyond that, the least
+             *                       recently used key is forgotten once it has gone quiet; while it
+             *                       is still busy, new keys share one bucket.
+             */
+            public Builder setMaxTrackedKeys(int maxTrackedKeys) {
+                if (maxTrackedKeys < 1) {
+                    throw new IllegalArgumentException("maxTrackedKeys must be at least 1");
+                }
+                this.maxTrackedKeys = maxTrackedKeys;
+                return this;
+            }
+
+            public Config build() {
+                return new Config(this);
+            }
+
+            private static void checkRate(double perSecond, int burst) {
+                if (!(perSecond >= 0) || Double.isInfinite(perSecond)) {
+                    throw new IllegalArgumentException("perSecond must be a finite value >= 0");
+                }
+                if (burst < 1) {
+                    throw new IllegalArgumentException("burst must be at least 1");
+                }
+            }
+        }
+    }
+
+    /**
+     * One token bucket. {@code nextFree} is the time the bucket will be full again; a request
+     * fits while that is at most {@code tolerance} ahead of now.
+     */
+    private static final class Bucket {
+        final AtomicLong nextFree = new AtomicLong(Long.MIN_VALUE);
+        final AtomicInteger suppressed = new AtomicInteger();
+
+        boolean tryAcquire(long now, long interval, long tolerance) {
+            while (true) {
+                long current = nextFree.get();
+                long start = Math.max(current, now);
+                if (start - now > tolerance) {
+                    return false;
+                }
+                if (nextFree.compareAndSet(current, start + interval)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Give back a token taken by {@link #tryAcquire}.
+         */
+        void release(long interval) {
+            nextFree.addAndGet(-interval);
+        }
+
+        boolean isFull(long now) {
+            return nextFree.get() <= now;
+        }
+    }
+
+    private final Config config;
+    private final long globalInterval;
+    private final long globalTolerance;
+    private final long perKeyInterval;
+    private final long perKeyTolerance;
+    private final Bucket global = new Bucket();
+    // Shared by keys that arrive while every tracked key is busy
+    private final Bucket others = new Bucket();
+    // Access-ordered, least recently used first. Guarded by itself.
+    private final LinkedHashMap<Object, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    // Looks texts other than String up by content, without copying them. Guarded by buckets.
+    private final TextKey probe = new TextKey();
+    private final AtomicInteger suppressedTotal = new AtomicInteger();
+
+    final SnackbarPipeline.Filter filter = new SnackbarPipeline.Filter() {
+        @Override
+        public SnackbarMetrics.DropReason filter(SnackbarRequest request) {
+            return tryAcquire(request) ? null : SnackbarMetrics.DropReason.RATE_LIMITED;
+        }
+    };
+
+    SnackbarRateLimiter(Config config) {
+        this.config = config;
+        this.globalInterval = intervalNanos(config.globalPerSecond);
+        this.globalTolerance = globalInterval * (config.globalBurst - 1);
+        this.perKeyInterval = intervalNanos(config.perKeyPerSecond);
+        this.perKeyTolerance = perKeyInterval * (config.perKeyBurst - 1);
+    }
+
+    Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @return {@code true} if the request may go on
+     */
+    boolean tryAcquire(SnackbarRequest request) {
+        if (request.priority == SnackbarPriority.CRITICAL || request.undo != null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Bucket keyBucket = perKeyInterval != 0 ? bucketFor(request.dedupeKey(), now) : null;
+        // Per key first, so a noisy key does not use up the global budget
+        if (keyBucket != null && !keyBucket.tryAcquire(now, perKeyInterval, perKeyTolerance)) {
+            return suppress(keyBucket);
+        }
+        if (globalInterval != 0 && !global.tryAcquire(now, globalInterval, globalTolerance)) {
+            if (keyBucket != null) {
+                // Nothing is shown, so the key keeps its token
+                keyBucket.release(perKeyInterval);
+            }
+            return suppress(keyBucket);
+        }
+        return true;
+    }
+
+    /**
+     * Requests suppressed per key since the limiter was installed, for keys still tracked.
+     * Empty unless a per-key rate is set.
+     */
+    Map<Object, Integer> getSuppressedCounts() {
+        HashMap<Object, Integer> counts = new HashMap<>();
+        synchronized (buckets) {
+            for (Map.Entry<Object, Bucket> entry : buckets.entrySet()) {
+                int suppressed = entry.getValue().suppressed.get();
+                if (suppressed > 0) {
+                    counts.put(entry.getKey(), suppressed);
+                }
+            }
+        }
+        return counts;
+    }
+
+    int getSuppressedTotal() {
+        return suppressedTotal.get();
+    }
+
+    private boolean suppress(Bucket keyBucket) {
+        if (keyBucket != null) {
+            keyBucket.suppressed.incrementAndGet();
+        }
+        suppressedTotal.incrementAndGet();
+        return false;
+    }
+
+    private Bucket bucketFor(Object key, long now) {
+        if (key == null) {
+            return null;
+        }
+        // Spanned texts don't compare by content: look them up as their characters
+        boolean text = key instanceof CharSequence && !(key instanceof String);
+        synchronized (buckets) {
+            Bucket bucket = buckets.get(text ? probe.set((CharSequence) key) : key);
+            probe.set(null);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= config.maxTrackedKeys) {
+                Iterator<Bucket> eldest = buckets.values().iterator();
+                if (!eldest.next().isFull(now)) {
+                    // Even the least recently used key is still busy
+                    return others;
+                }
+                eldest.remove();
+            }
+            bucket = new Bucket();
+            // Copied only when first tracked, and so the spans' targets are not kept
+            buckets.put(text ? key.toString() : key, bucket);
+            return bucket;
+        }
+    }
+
+    /**
+     * A reusable lookup key equal to any String with the same characters.
+     */
+    private static final class TextKey {
+        private CharSequence text;
+        private int hash;
+
+        TextKey set(CharSequence text) {
+            this.text = text;
+            int h = 0;
+            if (text != null) {
+                // Same as String.hashCode()
+                for (int i = 0, length = text.length(); i < length; i++) {
+                    h = 31 * h + text.charAt(i);
+                }
+            }
+            hash = h;
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof String)) {
+                return false;
+            }
+            String string = (String) other;
+            int length = text.length();
+            if (string.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (string.charAt(i) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static long intervalNanos(double perSecond) {
+        return perSecond == 0 ? 0 : Math.max(1, (long) (1_000_000_000L / perSecond));
+    }
+}
@@ -0,0 +1,505 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Intent;
+import android.content.res.Configuration;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.text.Spanned;
+import android.text.method.LinkMovementMethod;
+import android.text.style.ClickableSpan;
+import android.util.TypedValue;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Puts {@link SnackbarRequest}s on screen, recycling Snackbar instances per Activity.
+ * <p>
+ * After a pooled snackbar is dismissed its view is restyled for the next request instead of
+ * inflating a new one through {@code Snackbar.make}. Pools live in a {@link SnackbarHost} per
+ * Activity, are capped, and are trimmed on {@code onTrimMemory}.
+ * <p>
+ * Hosts, their pools and their content roots hold the Activity strongly, and are released
+ * only in {@code onActivityDestroyed}: the lifecycle callbacks registered on first show are
+ * what keeps the renderer from leaking Activities. On destroy the Activity's snackbar is
+ * dismissed and its host and waiting requests are released. If it is only being recreated
+ * for a configuration change, the waiting requests (and the one on screen) are shown again
+ * once the new instance resumes.
+ * <p>
+ * Main thread only.
+ */
+final class SnackbarRenderer implements SnackbarQueue.Presenter {
+
+    static final int DEFAULT_POOL_SIZE = 2;
+    private static final String PREWARM_TEXT = "Prewarm";
+
+    private final HashMap<Activity, SnackbarHost> hosts = new HashMap<>();
+    // Hosts of activities destroyed for a configuration change, waiting for their new instance
+    private final ArrayList<SnackbarHost> recreating = new ArrayList<>(1);
+    private SnackbarQueue queue;
+    private int maxPoolSize = DEFAULT_POOL_SIZE;
+    private boolean lifecycleRegistered;
+    private SnackbarStyle[] prewarmStyles;
+    private boolean prewarmOnResume;
+    private int precomputeMinLength;
+
+    void setQueue(SnackbarQueue queue) {
+        this.queue = queue;
+    }
+
+    void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        for (SnackbarHost host : hosts.values()) {
+            while (host.pool.size() > maxPoolSize) {
+                host.pool.pollFirst();
+            }
+        }
+    }
+
+    @Override
+    public Object show(SnackbarRequest request) {
+        Activity activity = request.activity;
+        if (activity.isFinishing() || activity.isDestroyed()) {
+            return null;
+        }
+        registerLifecycle(activity.getApplication());
+
+        Entry entry = acquire(hostFor(activity), request);
+        entry.bind(request);
+        // Lazy messages are built only now that the request is really being shown
+        CharSequence message = request.resolveMessage();
+        entry.bindLinks(message);
+        // Critical messages skip the precompute round trip to keep their latency bounded
+        if (precomputeMinLength > 0 && message != null && message.length() >= precomputeMinLength
+                && !(message instanceof PrecomputedTextCompat)
+                && request.priority != SnackbarPriority.CRITICAL) {
+            entry.precomputeAndShow(message);
+        } else {
+            entry.snackbar.setText(message);
+            entry.snackbar.show();
+        }
+        return entry;
+    }
+
+    @Override
+    public void dismiss(Object handle) {
+        ((Entry) handle).dismiss();
+    }
+
+    @Override
+    public void shorten(Object handle, int durationMs) {
+        ((Entry) handle).shorten(durationMs);
+    }
+
+    /**
+     * @param minLength Messages at least this long are laid out off the main thread (0 = never)
+     */
+    void setPrecomputeMinLength(int minLength) {
+        this.precomputeMinLength = minLength;
+    }
+
+    /**
+     * Drop idle snackbars in response to memory pressure.
+     */
+    void trimMemory(int level) {
+        int keep;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            keep = 0;
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            keep = 1;
+        } else {
+            return;
+        }
+        for (SnackbarHost host : hosts.values()) {
+            while (host.pool.size() > keep) {
+                host.pool.pollFirst();
+            }
+        }
+    }
+
+    int hostCount() {
+        return hosts.size();
+    }
+
+    /**
+     * Idle snackbars kept for reuse, across all hosts.
+     */
+    int pooledCount() {
+        int count = 0;
+        for (SnackbarHost host : hosts.values()) {
+            count += host.pool.size();
+        }
+        return count;
+    }
+
+    private SnackbarHost hostFor(Activity activity) {
+        SnackbarHost host = hosts.get(activity);
+        if (host == null) {
+            host = new SnackbarHost(activity, maxPoolSize);
+            hosts.put(activity, host);
+        }
+        return host;
+    }
+
+    private Entry acquire(SnackbarHost host, SnackbarRequest request) {
+        // A snackbar dismissed a moment ago may still be attached until Material removes it
+        for (Iterator<Entry> it = host.pool.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.view.getParent() == null) {
+                it.remove();
+                return entry;
+            }
+        }
+        return new Entry(host, Snackbar.make(host.getContentRoot(), "", request.duration));
+    }
+
+    private void release(Entry entry, int event) {
+        if (maxPoolSize == 0 || event == Snackbar.Callback.DISMISS_EVENT_SWIPE || !entry.host.isAlive()) {
+            // Swiped views are left translated and faded by the swipe behavior; don't reuse them
+            return;
+        }
+        ArrayDeque<Entry> pool = entry.host.pool;
+        if (pool.size() < maxPoolSize) {
+            // Don't keep the caller's listener alive while the snackbar sits in the pool
+            entry.snackbar.setAction(null, null);
+            pool.addLast(entry);
+        }
+    }
+
+    /**
+     * Prewarm the first Activity that resumes.
+     */
+    void prewarmOnFirstResume(Application application, SnackbarStyle[] styles) {
+        registerLifecycle(application);
+        prewarmStyles = styles;
+        prewarmOnResume = true;
+    }
+
+    /**
+     * Inflate and measure one pooled snackbar for {@code activity} (and resolve {@code styles})
+     * the next time the main looper goes idle, so the first real show skips that work.
+     */
+    void prewarmWhenIdle(final Activity activity, final SnackbarStyle[] styles) {
+        registerLifecycle(activity.getApplication());
+        Looper.getMainLooper().getQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                prewarm(activity, styles);
+                return false;
+            }
+        });
+    }
+
+    private void prewarm(Activity activity, SnackbarStyle[] styles) {
+        if (activity.isFinishing() || activity.isDestroyed()) {
+            return;
+        }
+        for (SnackbarStyle style : styles) {
+            style.resolve(activity);
+        }
+        SnackbarHost host = hostFor(activity);
+        if (maxPoolSize == 0 || !host.pool.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(host, Snackbar.make(host.getContentRoot(), PREWARM_TEXT, Snackbar.LENGTH_SHORT));
+
+        // First measure loads the text layout machinery and fonts
+        int width = activity.getResources().getDisplayMetrics().widthPixels;
+        entry.view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        release(entry, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+    }
+
+    private void registerLifecycle(Application application) {
+        if (lifecycleRegistered) {
+            return;
+        }
+        lifecycleRegistered = true;
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override public void onActivityCreated(Activity a, Bundle savedInstanceState) { }
+            @Override public void onActivityStarted(Activity a) { }
+
+            @Override
+            public void onActivityResumed(Activity a) {
+                if (!recreating.isEmpty()) {
+                    reattach(a);
+                }
+                if (prewarmOnResume) {
+                    prewarmOnResume = false;
+                    prewarmWhenIdle(a, prewarmStyles);
+                    prewarmStyles = null;
+                }
+            }
+
+            @Override public void onActivityPaused(Activity a) { }
+            @Override public void onActivityStopped(Activity a) { }
+            @Override public void onActivitySaveInstanceState(Activity a, Bundle outState) { }
+
+            @Override
+            public void onActivityDestroyed(Activity a) {
+                SnackbarHost host = hosts.remove(a);
+                if (host != null) {
+                    release(host, a);
+                }
+            }
+        });
+        application.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                trimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) { }
+
+            @Override
+            public void onLowMemory() {
+                trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+            }
+        });
+    }
+
+    /**
+     * Dismiss and drop everything of a destroyed Activity, keeping its requests aside if it
+     * is about to be recreated.
+     */
+    private void release(SnackbarHost host, Activity activity) {
+        host.destroy();
+        if (activity.isChangingConfigurations()) {
+            queue.removeAll(activity, host.parked);
+            if (!host.parked.isEmpty()) {
+                recreating.add(host);
+            }
+        } else {
+            queue.removeAll(activity, null);
+        }
+    }
+
+    /**
+     * Give requests parked by a configuration change to the Activity's new instance. Hosts
+     * that don't match are abandoned: the recreated instance, if any, resumes first.
+     */
+    private void reattach(Activity resumed) {
+        for (int i = 0; i < recreating.size(); i++) {
+            SnackbarHost host = recreating.get(i);
+            if (host.isRecreationOf(resumed)) {
+                queue.restore(host.parked, resumed);
+            } else {
+                queue.discard(host.parked);
+            }
+        }
+        recreating.clear();
+    }
+
+    /**
+     * One reusable snackbar. Doubles as its own callback, Intent click listener and precompute
+     * task so that nothing has to be allocated per show.
+     */
+    final class Entry extends Snackbar.Callback implements View.OnClickListener, Runnable {
+
+        final SnackbarHost host;
+        final Snackbar snackbar;
+        final View view;
+        final TextView textView;
+        private final int actionPadding;
+        private View actionView;
+        private Drawable actionBackground;
+        private int actionPaddingLeft, actionPaddingTop, actionPaddingRight, actionPaddingBottom;
+        private boolean actionRestyled;
+
+        private int actionBgColor;
+        private Class<?> targetActivity;
+        private boolean precomputing;
+        private boolean hasLinks;
+        private boolean cancelled;
+        private Intent intent;
+        private Class<?> intentTarget;
+        // Handed to the background thread and back by execute() and post(), which order the writes
+        private CharSequence pendingMessage;
+        private PrecomputedTextCompat.Params pendingParams;
+        private PrecomputedTextCompat precomputed;
+
+        Entry(SnackbarHost host, Snackbar snackbar) {
+            this.host = host;
+            this.snackbar = snackbar;
+            this.view = snackbar.getView();
+            this.textView = view.findViewById(com.google.android.material.R.id.snackbar_text);
+            this.actionPadding = (int) (8 * host.density);
+            snackbar.addCallback(this);
+        }
+
+        /**
+         * Apply everything except the message text.
+         */
+        void bind(SnackbarRequest request) {
+            snackbar.setDuration(request.duration);
+
+            // Customizing Snackbar
+            textView.setTextColor(request.textColor);
+            textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, request.textSizePx);
+            textView.setMaxLines(request.maxLines); // Allow multiple lines
+            view.setBackgroundColor(request.backgroundColor);
+
+            if (actionRestyled) {
+                restoreActionView();
+            }
+            actionBgColor = 0;
+            targetActivity = null;
+            if (request.hasAction()) {
+                // Set action button
+                snackbar.setActionTextColor(request.actionColor);
+                if (request.targetActivity != null) {
+                    targetActivity = request.targetActivity;
+                    snackbar.setAction(request.actionText, this);
+                } else {
+                    snackbar.setAction(request.actionText, request.clickListener);
+                }
+                actionBgColor = request.actionBgColor;
+            } else {
+                snackbar.setAction(null, null);
+            }
+        }
+
+        /**
+         * Make links in the message clickable. Only messages with links get a movement method,
+         * which would otherwise make the text focusable.
+         */
+        void bindLinks(CharSequence message) {
+            // Once per bind; a link covering the whole message has no transition inside it
+            boolean links = message instanceof Spanned && ((Spanned) message).getSpans(
+                    0, message.length(), ClickableSpan.class).length > 0;
+            if (links != hasLinks) {
+                hasLinks = links;
+                textView.setMovementMethod(links ? LinkMovementMethod.getInstance() : null);
+            }
+        }
+
+        /**
+         * Measure {@code message} on the background thread with this snackbar's text metrics
+         * (size, typeface, break strategy), then set it and show on the main thread.
+         */
+        void precomputeAndShow(CharSequence message) {
+            precomputing = true;
+            pendingMessage = message;
+            pendingParams = TextViewCompat.getTextMetricsParams(textView);
+            SnackbarExecutors.background().execute(this);
+        }
+
+        /**
+         * Measures on the background thread, then runs again on the main thread to show.
+         */
+        @Override
+        public void run() {
+            if (precomputed == null) {
+                precomputed = PrecomputedTextCompat.create(pendingMessage, pendingParams);
+                SnackbarExecutors.main().post(this);
+            } else {
+                showPrecomputed();
+            }
+        }
+
+        private void showPrecomputed() {
+            CharSequence message = pendingMessage;
+            PrecomputedTextCompat text = precomputed;
+            pendingMessage = null;
+            pendingParams = null;
+            precomputed = null;
+            precomputing = false;
+            if (cancelled || !host.isAlive()) {
+                cancelled = false;
+                // Never attached, so the snackbar can serve the next request
+                release(this, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+                queue.onDismissed(this, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+                return;
+            }
+            try {
+                TextViewCompat.setPrecomputedText(textView, text);
+            } catch (IllegalArgumentException e) {
+                // Text metrics changed while measuring; fall back to regular layout
+                snackbar.setText(message);
+            }
+            snackbar.show();
+        }
+
+        void dismiss() {
+            if (precomputing) {
+                cancelled = true;
+            } else {
+                snackbar.dismiss();
+            }
+        }
+
+        void shorten(int durationMs) {
+            snackbar.setDuration(durationMs);
+            if (!precomputing) {
+                // show() on the visible snackbar restarts its timeout with the new duration
+                snackbar.show();
+            }
+        }
+
+        @Override
+        public void onClick(View v) {
+            // Set action button with Intent
+            Activity activity = host.getActivity();
+            if (targetActivity != null && activity != null) {
+                if (intentTarget != targetActivity) {
+                    intent = new Intent(activity, targetActivity);
+                    intentTarget = targetActivity;
+                }
+                activity.startActivity(intent);
+            }
+            snackbar.dismiss();
+        }
+
+        @Override
+        public void onShown(Snackbar sb) {
+            queue.onShown(this);
+
+            // Set action button background color if specified
+            if (actionBgColor == 0) {
+                return;
+            }
+            if (actionView == null) {
+                actionView = view.findViewById(com.google.android.material.R.id.snackbar_action);
+                if (actionView == null) {
+                    return;
+                }
+                actionBackground = actionView.getBackground();
+                actionPaddingLeft = actionView.getPaddingLeft();
+                actionPaddingTop = actionView.getPaddingTop();
+                actionPaddingRight = actionView.getPaddingRight();
+                actionPaddingBottom = actionView.getPaddingBottom();
+            }
+            actionView.setBackgroundColor(actionBgColor);
+            // Add padding for better appearance
+            actionView.setPadding(actionPadding, actionPadding / 2, actionPadding, actionPadding / 2);
+            actionRestyled = true;
+        }
+
+        @Override
+        public void onDismissed(Snackbar sb, int event) {
+            release(this, event);
+            queue.onDismissed(this, event);
+        }
+
+        private void restoreActionView() {
+            actionView.setBackground(actionBackground);
+            actionView.setPadding(actionPaddingLeft, actionPaddingTop, actionPaddingRight, actionPaddingBottom);
+            actionRestyled = false;
+        }
+    }
+}
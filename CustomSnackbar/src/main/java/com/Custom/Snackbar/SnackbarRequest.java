@@ -0,0 +1,283 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.util.function.Supplier;
+
+/**
+ * A single snackbar waiting to be shown.
+ * <p>
+ * All {@link CustomSnackbar} overloads resolve their arguments into one of these and hand it
+ * to the {@link SnackbarPipeline}, which ends in the {@link SnackbarQueue}; nothing touches the view hierarchy until the queue decides
+ * the request will actually be shown. Requests are recycled through a small pool, like
+ * {@code android.os.Message}, so the steady-state show path does not allocate them.
+ */
+final class SnackbarRequest {
+
+    private static final int MAX_POOL_SIZE = 16;
+    private static final Object POOL_LOCK = new Object();
+    private static SnackbarRequest pool;
+    private static int poolSize;
+
+    Activity activity;
+    private CharSequence message;
+    private Supplier<? extends CharSequence> messageSupplier;
+    private Object dedupeKey;
+    // Never suppressed as a duplicate, and never remembered for suppressing others
+    private boolean unique;
+    float textSizePx;
+    int textColor;
+    int backgroundColor;
+    int maxLines;
+    int duration;
+
+    // Action button (actionText == null means no action)
+    String actionText;
+    int actionColor;
+    int actionBgColor;
+    View.OnClickListener clickListener;
+    Class<?> targetActivity;
+    // Deferred destructive operation behind an Undo action, committed when this request is recycled
+    UndoBuffer.Operation undo;
+
+    SnackbarPriority priority = SnackbarPriority.NORMAL;
+
+    // Style still to be resolved, for requests sent without an Activity
+    private SnackbarStyle style;
+
+    // Queue bookkeeping
+    long createdNanos;
+    long enqueueTimeNanos;
+    int collapsedCount;
+
+    private SnackbarRequest next;
+
+    private SnackbarRequest() {
+    }
+
+    /**
+     * Take a request from the recycled pool (or allocate one while the pool is still empty).
+     * Safe to call from any thread.
+     */
+    static SnackbarRequest obtain(Activity activity, CharSequence message, float textSizePx, int textColor,
+                                  int backgroundColor, int maxLines, int duration) {
+        SnackbarRequest request = null;
+        synchronized (POOL_LOCK) {
+            if (pool != null) {
+                request = pool;
+                pool = request.next;
+                request.next = null;
+                poolSize--;
+            }
+        }
+        if (request == null) {
+            request = new SnackbarRequest();
+        }
+        request.activity = activity;
+        request.message = message;
+        request.textSizePx = textSizePx;
+        request.textColor = textColor;
+        request.backgroundColor = backgroundColor;
+        request.maxLines = maxLines;
+        request.duration = duration;
+        request.createdNanos = System.nanoTime();
+        return request;
+    }
+
+    static SnackbarRequest obtain(Activity activity, CharSequence message, SnackbarStyle.Resolved style, int duration) {
+        SnackbarRequest request = obtain(activity, message, style.textSizePx, style.textColor,
+                style.backgroundColor, style.maxLines, duration);
+        request.actionColor = style.actionColor;
+        request.actionBgColor = style.actionBgColor;
+        return request;
+    }
+
+    /**
+     * Take a request that has no Activity yet. {@code style} is resolved when it is
+     * {@link #attach attached} to one.
+     */
+    static SnackbarRequest obtain(SnackbarStyle style, CharSequence message, int duration) {
+        SnackbarRequest request = obtain(null, message, 0, 0, 0, style.maxLines, duration);
+        request.style = style;
+        return request;
+    }
+
+    /**
+     * Bind a request obtained without an Activity. Main thread only.
+     */
+    void attach(Activity activity) {
+        this.activity = activity;
+        if (style != null) {
+            SnackbarStyle.Resolved resolved = style.resolve(activity);
+            textSizePx = resolved.textSizePx;
+            textColor = resolved.textColor;
+            backgroundColor = resolved.backgroundColor;
+            actionColor = resolved.actionColor;
+            actionBgColor = resolved.actionBgColor;
+            style = null;
+        }
+    }
+
+    /**
+     * Return this request to the pool once the queue is done with it (dropped, or dismissed
+     * after being shown). The request must not be touched afterwards.
+     */
+    void recycle() {
+        if (undo != null) {
+            UndoBuffer.Operation operation = undo;
+            undo = null;
+            operation.finish();
+        }
+        activity = null;
+        message = null;
+        messageSupplier = null;
+        dedupeKey = null;
+        unique = false;
+        actionText = null;
+        actionColor = 0;
+        actionBgColor = 0;
+        clickListener = null;
+        targetActivity = null;
+        style = null;
+        priority = SnackbarPriority.NORMAL;
+        enqueueTimeNanos = 0;
+        collapsedCount = 0;
+        synchronized (POOL_LOCK) {
+            if (poolSize < MAX_POOL_SIZE) {
+                next = pool;
+                pool = this;
+                poolSize++;
+            }
+        }
+    }
+
+    SnackbarRequest setAction(String actionText, View.OnClickListener clickListener, Class<?> targetActivity) {
+        this.actionText = actionText;
+        this.clickListener = clickListener;
+        this.targetActivity = targetActivity;
+        return this;
+    }
+
+    /**
+     * Defer building the message until the request is about to be shown.
+     *
+     * @param dedupeKey Key used for duplicate suppression instead of the text (may be null)
+     */
+    SnackbarRequest setMessageSupplier(Object dedupeKey, Supplier<? extends CharSequence> messageSupplier) {
+        this.message = null;
+        this.messageSupplier = messageSupplier;
+        this.dedupeKey = dedupeKey;
+        return this;
+    }
+
+    /**
+     * The message text, invoking the supplier on first call for lazy requests.
+     */
+    CharSequence resolveMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    /**
+     * What duplicate suppression compares: the explicit key, otherwise the eager message text.
+     * {@code null} for a {@link #setUnique unique} request or a lazy one without a key, which
+     * is never treated as a duplicate.
+     */
+    Object dedupeKey() {
+        if (unique) {
+            return null;
+        }
+        return dedupeKey != null ? dedupeKey : message;
+    }
+
+    SnackbarRequest setAction(String actionText, int actionColor, int actionBgColor,
+                              View.OnClickListener clickListener, Class<?> targetActivity) {
+        this.actionText = actionText;
+        this.actionColor = actionColor;
+        this.actionBgColor = actionBgColor;
+        this.clickListener = clickListener;
+        this.targetActivity = targetActivity;
+        return this;
+    }
+
+    /**
+     * @param dedupeKey Key used for duplicate suppression instead of the text
+     */
+    SnackbarRequest setDedupeKey(Object dedupeKey) {
+        this.dedupeKey = dedupeKey;
+        return this;
+    }
+
+    /**
+     * Exempt this request from duplicate suppression, both as a candidate and as a key
+     * that later requests are compared against.
+     */
+    SnackbarRequest setUnique() {
+        this.unique = true;
+        return this;
+    }
+
+    /**
+     * Put a deferred operation behind the action button, which becomes its Undo.
+     */
+    SnackbarRequest setUndo(String undoText, UndoBuffer.Operation undo) {
+        this.undo = undo;
+        // Each undo is its own snackbar: never suppressed as a duplicate of an identical message
+        return setAction(undoText, undo, null).setUnique();
+    }
+
+    SnackbarRequest setPriority(SnackbarPriority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority == null");
+        }
+        this.priority = priority;
+        return this;
+    }
+
+    boolean hasAction() {
+        return actionText != null;
+    }
+
+    /**
+     * Hash of everything that affects how the snackbar looks, excluding the message.
+     */
+    int styleHash() {
+        int h = Float.floatToIntBits(textSizePx);
+        h = 31 * h + textColor;
+        h = 31 * h + backgroundColor;
+        h = 31 * h + actionColor;
+        h = 31 * h + actionBgColor;
+        h = 31 * h + maxLines;
+        h = 31 * h + (actionText != null ? actionText.hashCode() : 0);
+        return h;
+    }
+
+    static boolean sameKey(Object a, Object b) {
+        if (a instanceof CharSequence && b instanceof CharSequence) {
+            return sameMessage((CharSequence) a, (CharSequence) b);
+        }
+        return a != null && a.equals(b);
+    }
+
+    static boolean sameMessage(CharSequence a, CharSequence b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.length() != b.length()) {
+            return false;
+        }
+        if (a instanceof String && b instanceof String) {
+            return a.equals(b);
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package com.Custom.Snackbar;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free in-memory aggregate of {@link SnackbarMetrics} events. Updates come from the main
+ * thread; {@link #dump()} and the getters may be called from any thread at any time.
+ *
+ * <pre>
+ * SnackbarStatsCollector stats = new SnackbarStatsCollector();
+ * CustomSnackbar.setMetricsListener(stats);
+ * ...
+ * Log.i(TAG, stats.dump());
+ * </pre>
+ */
+public class SnackbarStatsCollector implements SnackbarMetrics {
+
+    private final LongAdder shown = new LongAdder();
+    private final LongAdder dismissedByAction = new LongAdder();
+    private final LongAdder dismissedByTimeout = new LongAdder();
+    private final LongAdder dismissedOther = new LongAdder();
+    private final LongAdder[] dropped = new LongAdder[DropReason.values().length];
+
+    private final Timing showCall = new Timing();
+    private final Timing timeToShown = new Timing();
+    private final Timing visible = new Timing();
+    private final Timing deferred = new Timing();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    public SnackbarStatsCollector() {
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onShowCall(long durationNanos) {
+        showCall.record(durationNanos);
+    }
+
+    @Override
+    public void onShown(SnackbarPriority priority, long latencyNanos) {
+        shown.increment();
+        timeToShown.record(latencyNanos);
+    }
+
+    @Override
+    public void onDismissed(int dismissEvent, long visibleNanos) {
+        if (dismissEvent == Snackbar.Callback.DISMISS_EVENT_ACTION) {
+            dismissedByAction.increment();
+        } else if (dismissEvent == Snackbar.Callback.DISMISS_EVENT_TIMEOUT) {
+            dismissedByTimeout.increment();
+        } else {
+            dismissedOther.increment();
+        }
+        visible.record(visibleNanos);
+    }
+
+    @Override
+    public void onShowDeferred(SnackbarPriority priority, long deferredNanos) {
+        deferred.record(deferredNanos);
+    }
+
+    @Override
+    public void onDropped(DropReason reason, int count) {
+        dropped[reason.ordinal()].add(count);
+    }
+
+    @Override
+    public void onQueueDepth(int depth) {
+        queueDepth.set(depth);
+        Timing.updateMax(maxQueueDepth, depth);
+    }
+
+    public long getShownCount() {
+        return shown.sum();
+    }
+
+    public long getDismissedByActionCount() {
+        return dismissedByAction.sum();
+    }
+
+    public long getDismissedByTimeoutCount() {
+        return dismissedByTimeout.sum();
+    }
+
+    public long getDismissedOtherCount() {
+        return dismissedOther.sum();
+    }
+
+    public long getDroppedCount(DropReason reason) {
+        return dropped[reason.ordinal()].sum();
+    }
+
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getMaxShowCallNanos() {
+        return showCall.max.get();
+    }
+
+    public long getMaxTimeToShownNanos() {
+        return timeToShown.max.get();
+    }
+
+    public long getMaxShowDeferredNanos() {
+        return deferred.max.get();
+    }
+
+    /**
+     * Zero all counters and timings.
+     */
+    public void reset() {
+        shown.reset();
+        dismissedByAction.reset();
+        dismissedByTimeout.reset();
+        dismissedOther.reset();
+        for (LongAdder adder : dropped) {
+            adder.reset();
+        }
+        showCall.reset();
+        timeToShown.reset();
+        visible.reset();
+        deferred.reset();
+        maxQueueDepth.set(queueDepth.get());
+    }
+
+    /**
+     * Human-readable summary of everything collected so far.
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder(384);
+        sb.append("shown=").append(shown.sum())
+                .append(" dismissed[action=").append(dismissedByAction.sum())
+                .append(" timeout=").append(dismissedByTimeout.sum())
+                .append(" other=").append(dismissedOther.sum()).append(']')
+                .append(" dropped[");
+        DropReason[] reasons = DropReason.values();
+        for (int i = 0; i < reasons.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(reasons[i].name().toLowerCase(Locale.ROOT)).append('=').append(dropped[i].sum());
+        }
+        sb.append("] queue[depth=").append(queueDepth.get())
+                .append(" max=").append(maxQueueDepth.get()).append(']');
+        showCall.append(sb, "\nshowCall");
+        timeToShown.append(sb, "\ntimeToShown");
+        visible.append(sb, "\nvisible");
+        deferred.append(sb, "\ndeferred");
+        return sb.toString();
+    }
+
+    private static final class Timing {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            updateMax(max, nanos);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            max.set(0);
+        }
+
+        void append(StringBuilder sb, String label) {
+            long n = count.sum();
+            long avg = n == 0 ? 0 : totalNanos.sum() / n;
+            sb.append(label).append(": n=").append(n)
+                    .append(" avgUs=").append(avg / 1000)
+                    .append(" maxUs=").append(max.get() / 1000);
+        }
+
+        static void updateMax(AtomicLong max, long value) {
+            long current;
+            while (value > (current = max.get())) {
+                if (max.compareAndSet(current, value)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.Custom.Snackbar;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+
+import androidx.core.content.ContextCompat;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Immutable snackbar appearance, built once and reused for every show.
+ * <p>
+ * Colors may be given as values or as resource IDs. Resource IDs and the sp text size are
+ * resolved on first use and cached per theme and configuration, for the last few themes used,
+ * so Activities shown in turn each keep their resolution; a night-mode, density or
+ * font-scale change resolves them again.
+ *
+ * <pre>
+ * static final SnackbarStyle ERROR = SnackbarStyle.builder()
+ *         .setTextColor(Color.WHITE)
+ *         .setBackgroundColorRes(R.color.error)
+ *         .setTextSize(16)
+ *         .build();
+ *
+ * CustomSnackbar.showSnackbar(activity, "Upload failed", ERROR);
+ * </pre>
+ */
+public final class SnackbarStyle {
+
+    public static final SnackbarStyle DEFAULT = builder().build();
+
+    static final int DEFAULT_MAX_LINES = 10;
+
+    // Themes remembered per style; most apps show snackbars from a handful of Activities
+    private static final int CACHED_THEMES = 4;
+
+    final float textSize;
+    final int textColor;
+    final int textColorRes;
+    final int backgroundColor;
+    final int backgroundColorRes;
+    final int actionColor;
+    final int actionColorRes;
+    final int actionBgColor;
+    final int actionBgColorRes;
+    final int maxLines;
+
+    // Racy by design: Resolved is immutable, and a lost write only costs a second resolve
+    private final Resolved[] resolved = new Resolved[CACHED_THEMES];
+    private int nextSlot;
+
+    private SnackbarStyle(Builder builder) {
+        this.textSize = builder.textSize;
+        this.textColor = builder.textColor;
+        this.textColorRes = builder.textColorRes;
+        this.backgroundColor = builder.backgroundColor;
+        this.backgroundColorRes = builder.backgroundColorRes;
+        this.actionColor = builder.actionColor;
+        this.actionColorRes = builder.actionColorRes;
+        this.actionBgColor = builder.actionBgColor;
+        this.actionBgColorRes = builder.actionBgColorRes;
+        this.maxLines = builder.maxLines;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Start a builder pre-filled with this style's values.
+     */
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * Whether this style was built from exactly these resource IDs and sp text size.
+     */
+    boolean hasResources(float textSize, int textColorRes, int backgroundColorRes, int actionColorRes,
+                         int actionBgColorRes) {
+        return this.textSize == textSize
+                && this.textColorRes == textColorRes
+                && this.backgroundColorRes == backgroundColorRes
+                && this.actionColorRes == actionColorRes
+                && this.actionBgColorRes == actionBgColorRes;
+    }
+
+    /**
+     * Resolve colors and sizes for {@code context}. Returns the cached result while the
+     * theme and configuration are unchanged. Safe to call from any thread.
+     */
+    Resolved resolve(Context context) {
+        Resources resources = context.getResources();
+        Configuration configuration = resources.getConfiguration();
+        Resources.Theme theme = context.getTheme();
+        int free = -1;
+        for (int i = 0; i < CACHED_THEMES; i++) {
+            Resolved r = resolved[i];
+            if (r != null && r.matches(theme, configuration)) {
+                return r;
+            }
+            if (free < 0 && (r == null || r.isStale())) {
+                free = i;
+            }
+        }
+        Resolved r = new Resolved(this, context, theme, configuration, resources.getDisplayMetrics());
+        if (free < 0) {
+            // All themes alive: replace the oldest entry
+            free = nextSlot;
+            nextSlot = (free + 1) % CACHED_THEMES;
+        }
+        resolved[free] = r;
+        return r;
+    }
+
+    /**
+     * Final pixel and color values for one theme/configuration.
+     */
+    static final class Resolved {
+        final int textColor;
+        final int backgroundColor;
+        final int actionColor;
+        final int actionBgColor;
+        final float textSizePx;
+        final int maxLines;
+
+        private final WeakReference<Resources.Theme> theme;
+        private final int nightMode;
+        private final int densityDpi;
+        private final float fontScale;
+
+        Resolved(SnackbarStyle style, Context context, Resources.Theme theme, Configuration configuration,
+                 DisplayMetrics metrics) {
+            this.textColor = color(context, style.textColor, style.textColorRes);
+            this.backgroundColor = color(context, style.backgroundColor, style.backgroundColorRes);
+            this.actionColor = color(context, style.actionColor, style.actionColorRes);
+            this.actionBgColor = color(context, style.actionBgColor, style.actionBgColorRes);
+            this.textSizePx = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, style.textSize, metrics);
+            this.maxLines = style.maxLines;
+
+            this.theme = new WeakReference<>(theme);
+            this.nightMode = configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK;
+            this.densityDpi = configuration.densityDpi;
+            this.fontScale = configuration.fontScale;
+        }
+
+        /**
+         * The theme this was resolved for is gone, e.g. its Activity was destroyed.
+         */
+        boolean isStale() {
+            return theme.get() == null;
+        }
+
+        boolean matches(Resources.Theme theme, Configuration configuration) {
+            return this.theme.get() == theme
+                    && nightMode == (configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK)
+                    && densityDpi == configuration.densityDpi
+                    && fontScale == configuration.fontScale;
+        }
+
+        private static int color(Context context, int color, int colorRes) {
+            return colorRes != 0 ? ContextCompat.getColor(context, colorRes) : color;
+        }
+    }
+
+    public static final class Builder {
+        private float textSize = 17;
+        private int textColor = 0xFF000000;
+        private int textColorRes;
+        private int backgroundColor = 0xFF4CAF50;
+        private int backgroundColorRes;
+        private int actionColor = 0xFFFFFFFF;
+        private int actionColorRes;
+        private int actionBgColor;
+        private int actionBgColorRes;
+        private int maxLines = DEFAULT_MAX_LINES;
+
+        private Builder() {
+        }
+
+        private Builder(SnackbarStyle style) {
+            this.textSize = style.textSize;
+            this.textColor = style.textColor;
+            this.textColorRes = style.textColorRes;
+            this.backgroundColor = style.backgroundColor;
+            this.backgroundColorRes = style.backgroundColorRes;
+            this.actionColor = style.actionColor;
+            this.actionColorRes = style.actionColorRes;
+            this.actionBgColor = style.actionBgColor;
+            this.actionBgColorRes = style.actionBgColorRes;
+            this.maxLines = style.maxLines;
+        }
+
+        /**
+         * @param textSize Text size in sp
+         */
+        public Builder setTextSize(float textSize) {
+            this.textSize = textSize;
+            return this;
+        }
+
+        /**
+         * @param textColor Text color integer value (e.g., Color.BLACK)
+         */
+        public Builder setTextColor(int textColor) {
+            this.textColor = textColor;
+            this.textColorRes = 0;
+            return this;
+        }
+
+        /**
+         * @param textColorRes Text color resource ID (e.g., R.color.black)
+         */
+        public Builder setTextColorRes(int textColorRes) {
+            this.textColorRes = textColorRes;
+            return this;
+        }
+
+        /**
+         * @param backgroundColor Background color integer value (e.g., Color.WHITE)
+         */
+        public Builder setBackgroundColor(int backgroundColor) {
+            this.backgroundColor = backgroundColor;
+            this.backgroundColorRes = 0;
+            return this;
+        }
+
+        /**
+         * @param backgroundColorRes Background color resource ID (e.g., R.color.white)
+         */
+        public Builder setBackgroundColorRes(int backgroundColorRes) {
+            this.backgroundColorRes = backgroundColorRes;
+            return this;
+        }
+
+        /**
+         * @param actionColor Action button text color integer value
+         */
+        public Builder setActionTextColor(int actionColor) {
+            this.actionColor = actionColor;
+            this.actionColorRes = 0;
+            return this;
+        }
+
+        /**
+         * @param actionColorRes Action button text color resource ID
+         */
+        public Builder setActionTextColorRes(int actionColorRes) {
+            this.actionColorRes = actionColorRes;
+            return this;
+        }
+
+        /**
+         * @param actionBgColor Action button background color integer value (0 = transparent/default)
+         */
+        public Builder setActionBackgroundColor(int actionBgColor) {
+            this.actionBgColor = actionBgColor;
+            this.actionBgColorRes = 0;
+            return this;
+        }
+
+        /**
+         * @param actionBgColorRes Action button background color resource ID (0 = transparent/default)
+         */
+        public Builder setActionBackgroundColorRes(int actionBgColorRes) {
+            this.actionBgColorRes = actionBgColorRes;
+            return this;
+        }
+
+        /**
+         * @param maxLines Maximum number of message lines (default 10)
+         */
+        public Builder setMaxLines(int maxLines) {
+            if (maxLines < 1) {
+                throw new IllegalArgumentException("maxLines must be at least 1");
+            }
+            this.maxLines = maxLines;
+            return this;
+        }
+
+        public SnackbarStyle build() {
+            return new SnackbarStyle(this);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.Custom.Snackbar;
+
+import java.util.List;
+
+/**
+ * Runs the destructive operations of undo snackbars that were not undone. Install with
+ * {@link CustomSnackbar#setUndoCommitter(SnackbarUndoCommitter)} to wrap a batch in one
+ * database transaction:
+ *
+ * <pre>
+ * CustomSnackbar.setUndoCommitter(operations -&gt; db.runInTransaction(() -&gt; {
+ *     for (Runnable operation : operations) {
+ *         operation.run();
+ *     }
+ * }));
+ * </pre>
+ */
+public interface SnackbarUndoCommitter {
+
+    /**
+     * Called on a background thread.
+     *
+     * @param operations Committed operations in the order their snackbars went away
+     */
+    void commit(List<Runnable> operations);
+}
@@ -0,0 +1,344 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One {@link SnackbarQueue} per window, behind the root queue, for split-screen, freeform and
+ * multi-display setups. A window is an Activity task: each split-screen half, freeform window
+ * or display shows its own task. Every window gets its own buffer, priorities, duplicate
+ * window and frame-budget gate, so a backlog in one window never evicts, suppresses or
+ * reorders another window's snackbars.
+ * <p>
+ * Material's {@code SnackbarManager} shows one snackbar per process: showing a second one
+ * dismisses the first. The windows therefore share one on-screen slot, granted in turn. While
+ * another window is waiting, the visible snackbar is cut to
+ * {@link SnackbarQueue.Config#getPreemptedDurationMs()} (critical ones are left alone), so a
+ * long or indefinite snackbar in one window holds up the others for a bounded time only. A
+ * critical snackbar dismisses another window's non-critical one at once, as it would within
+ * its own window, and only waits behind another critical one, ahead of other windows.
+ * <p>
+ * The concurrency limit is therefore fixed at one snackbar on screen, across all windows: a
+ * higher limit would only make the manager dismiss one window's snackbar for the other's.
+ * <p>
+ * Main thread only.
+ */
+final class SnackbarWindowShards {
+
+    private final SnackbarQueue.Presenter presenter;
+    // Few windows exist at a time; a list avoids boxing task ids on every lookup
+    private final ArrayList<Shard> shards = new ArrayList<>();
+    private final ArrayDeque<Shard> waiting = new ArrayDeque<>();
+
+    // The window whose snackbar owns the slot
+    private Shard onScreen;
+    private SnackbarPriority onScreenPriority;
+    private boolean onScreenCut;
+
+    private SnackbarQueue.Config config;
+    private SnackbarMetrics metrics;
+    private SnackbarPipeline.Observer observer;
+    private boolean gated;
+
+    /**
+     * One window's queue, and the presenter that queue talks to: it puts the request on
+     * screen when the slot is free, or holds it until its turn.
+     */
+    final class Shard implements SnackbarQueue.Presenter {
+        final int window;
+        final SnackbarQueue queue;
+        // Taken from the queue but waiting for the slot
+        private SnackbarRequest pending;
+        // The real presenter's handle, until its dismissal is reported
+        private Object handle;
+
+        Shard(int window) {
+            this.window = window;
+            this.queue = new SnackbarQueue(config, this, true);
+            queue.setMetrics(metrics);
+            queue.setObserver(observer);
+            if (gated) {
+                queue.setShowGate(new FrameBudgetGate(queue));
+            }
+        }
+
+        @Override
+        public Object show(SnackbarRequest request) {
+            if (onScreen != null && request.priority == SnackbarPriority.CRITICAL
+                    && onScreenPriority != SnackbarPriority.CRITICAL) {
+                return preemptOnScreen(request) ? this : null;
+            }
+            if (onScreen != null) {
+                pending = request;
+                if (request.priority == SnackbarPriority.CRITICAL) {
+                    waiting.addFirst(this);
+                } else {
+                    waiting.addLast(this);
+                }
+                cutOnScreen();
+                return this;
+            }
+            return present(request) ? this : null;
+        }
+
+        @Override
+        public void dismiss(Object handle) {
+            if (pending != null) {
+                waiting.remove(this);
+                pending = null;
+            } else if (this.handle != null) {
+                Object shown = this.handle;
+                // Forget it first: the presenter's late onDismissed for it is then ignored
+                this.handle = null;
+                presenter.dismiss(shown);
+                if (onScreen == this) {
+                    onScreen = null;
+                    onScreenPriority = null;
+                }
+            } else {
+                return;
+            }
+            // Report the dismissal now, so the request is recycled and a preempting one shows.
+            // Ignored if the queue has already let go of the request (removeAll). The window's
+            // next request claims the slot before waiting windows do.
+            queue.onDismissed(this, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+            if (onScreen == null) {
+                grantNext();
+            }
+        }
+
+        @Override
+        public void shorten(Object handle, int durationMs) {
+            if (pending != null) {
+                pending.duration = durationMs;
+            } else if (this.handle != null) {
+                presenter.shorten(this.handle, durationMs);
+            }
+        }
+
+        /**
+         * Take the slot from another window's snackbar, as a critical request does within
+         * one window, so critical latency never depends on what other windows show.
+         */
+        private boolean preemptOnScreen(SnackbarRequest request) {
+            Shard holder = onScreen;
+            Object shown = holder.handle;
+            // Forget it first: the presenter's late onDismissed for it is then ignored
+            holder.handle = null;
+            onScreen = null;
+            onScreenPriority = null;
+            presenter.dismiss(shown);
+            boolean presented = present(request);
+            // The holder's next request now waits for the slot like any other window's
+            holder.queue.onDismissed(holder, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+            if (onScreen == null) {
+                grantNext();
+            }
+            return presented;
+        }
+
+        private boolean present(SnackbarRequest request) {
+            Object shown = presenter.show(request);
+            if (shown == null) {
+                return false;
+            }
+            handle = shown;
+            onScreen = this;
+            onScreenPriority = request.priority;
+            onScreenCut = false;
+            return true;
+        }
+
+        boolean isIdle() {
+            return pending == null && handle == null && !queue.isShowing() && queue.size() == 0;
+        }
+    }
+
+    SnackbarWindowShards(SnackbarQueue.Presenter presenter, SnackbarQueue.Config config) {
+        this.presenter = presenter;
+        this.config = config;
+    }
+
+    static int windowOf(Activity activity) {
+        return activity.getTaskId();
+    }
+
+    boolean enqueue(SnackbarRequest request) {
+        return shardFor(windowOf(request.activity), true).queue.enqueue(request);
+    }
+
+    /**
+     * @return {@code false} if {@code handle} is not one of the shards' snackbars
+     */
+    boolean onShown(Object handle) {
+        Shard shard = shardShowing(handle);
+        if (shard == null) {
+            return false;
+        }
+        shard.queue.onShown(shard);
+        return true;
+    }
+
+    /**
+     * @return {@code false} if {@code handle} is not one of the shards' snackbars
+     */
+    boolean onDismissed(Object handle, int event) {
+        Shard shard = shardShowing(handle);
+        if (shard == null) {
+            return false;
+        }
+        shard.handle = null;
+        if (onScreen == shard) {
+            releaseSlot();
+        }
+        // Waiting windows got their turn first; this window's next snackbar queues up behind them
+        shard.queue.onDismissed(shard, event);
+        return true;
+    }
+
+    void removeAll(Activity activity, List<SnackbarRequest> parked) {
+        Shard shard = shardFor(windowOf(activity), false);
+        if (shard == null) {
+            return;
+        }
+        shard.queue.removeAll(activity, parked);
+        if (shard.isIdle()) {
+            // A recreated Activity keeps its task id and gets a fresh shard on restore
+            shards.remove(shard);
+        }
+    }
+
+    void restore(List<SnackbarRequest> parked, Activity activity) {
+        shardFor(windowOf(activity), true).queue.restore(parked, activity);
+    }
+
+    void clear() {
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).queue.clear();
+        }
+    }
+
+    void setConfig(SnackbarQueue.Config config) {
+        this.config = config;
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).queue.setConfig(config);
+        }
+    }
+
+    void setMetrics(SnackbarMetrics metrics) {
+        this.metrics = metrics;
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).queue.setMetrics(metrics);
+        }
+    }
+
+    void setObserver(SnackbarPipeline.Observer observer) {
+        this.observer = observer;
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).queue.setObserver(observer);
+        }
+    }
+
+    /**
+     * Give windows created from now on a {@link FrameBudgetGate} of their own.
+     */
+    void setGated(boolean gated) {
+        this.gated = gated;
+    }
+
+    long getWorstShowLatencyNanos(SnackbarPriority priority) {
+        long worst = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            worst = Math.max(worst, shards.get(i).queue.getWorstShowLatencyNanos(priority));
+        }
+        return worst;
+    }
+
+    void resetShowLatency() {
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).queue.resetShowLatency();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            size += shards.get(i).queue.size();
+        }
+        return size;
+    }
+
+    boolean isShowing() {
+        return onScreen != null;
+    }
+
+    int windowCount() {
+        return shards.size();
+    }
+
+    private void releaseSlot() {
+        onScreen = null;
+        onScreenPriority = null;
+        grantNext();
+    }
+
+    /**
+     * Give the free slot to the window that has waited longest.
+     */
+    private void grantNext() {
+        Shard next;
+        while (onScreen == null && (next = waiting.pollFirst()) != null) {
+            SnackbarRequest request = next.pending;
+            next.pending = null;
+            if (!next.present(request)) {
+                // Its Activity went away while waiting; the queue moves on to its next request
+                next.queue.reportDropped(request.undo != null
+                        ? SnackbarMetrics.DropReason.UNDO_COMMITTED
+                        : SnackbarMetrics.DropReason.DESTROYED, 1);
+                next.queue.onDismissed(next, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+            }
+        }
+        if (!waiting.isEmpty()) {
+            cutOnScreen();
+        }
+    }
+
+    private void cutOnScreen() {
+        if (onScreen == null || onScreenCut || onScreenPriority == SnackbarPriority.CRITICAL) {
+            return;
+        }
+        onScreenCut = true;
+        presenter.shorten(onScreen.handle, config.getPreemptedDurationMs());
+    }
+
+    private Shard shardShowing(Object handle) {
+        if (handle == null) {
+            return null;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).handle == handle) {
+                return shards.get(i);
+            }
+        }
+        return null;
+    }
+
+    private Shard shardFor(int window, boolean create) {
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).window == window) {
+                return shards.get(i);
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        Shard shard = new Shard(window);
+        shards.add(shard);
+        return shard;
+    }
+}
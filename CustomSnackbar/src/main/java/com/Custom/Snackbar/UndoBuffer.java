@@ -0,0 +1,128 @@
+package com.Custom.Snackbar;
+
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds back the destructive operations of undo snackbars.
+ * <p>
+ * An operation is committed when its request is finished without Undo being clicked:
+ * dismissed by timeout, swipe or a newer snackbar, or dropped before it could be shown.
+ * Committed operations are collected and handed to the {@link SnackbarUndoCommitter} in one
+ * background batch once no undo snackbar is outstanding any more, so a run of consecutive
+ * deletes becomes one write.
+ */
+final class UndoBuffer {
+
+    // A steady stream of undo snackbars still commits in bounded batches
+    static final int MAX_BATCH_SIZE = 32;
+
+    private static final SnackbarUndoCommitter SEQUENTIAL = new SnackbarUndoCommitter() {
+        @Override
+        public void commit(List<Runnable> operations) {
+            for (int i = 0; i < operations.size(); i++) {
+                operations.get(i).run();
+            }
+        }
+    };
+
+    private final Executor executor;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile SnackbarUndoCommitter committer = SEQUENTIAL;
+    // Main thread only
+    private ArrayList<Runnable> committed = new ArrayList<>();
+
+    /**
+     * Commit on the library's commit thread, apart from the background thread that prepares
+     * snackbars.
+     */
+    UndoBuffer() {
+        this(null);
+    }
+
+    UndoBuffer(Executor executor) {
+        this.executor = executor;
+    }
+
+    void setCommitter(SnackbarUndoCommitter committer) {
+        this.committer = committer != null ? committer : SEQUENTIAL;
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @param onUndo Called when Undo is clicked (may be null)
+     */
+    Operation register(Runnable commit, View.OnClickListener onUndo) {
+        outstanding.incrementAndGet();
+        return new Operation(this, commit, onUndo);
+    }
+
+    int outstandingCount() {
+        return outstanding.get();
+    }
+
+    private void finish(Operation operation) {
+        if (!operation.undone) {
+            committed.add(operation.commit);
+        }
+        if (outstanding.decrementAndGet() == 0 || committed.size() >= MAX_BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (committed.isEmpty()) {
+            return;
+        }
+        final List<Runnable> batch = committed;
+        final SnackbarUndoCommitter target = committer;
+        committed = new ArrayList<>();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                target.commit(batch);
+            }
+        };
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            SnackbarExecutors.commits().execute(task);
+        }
+    }
+
+    /**
+     * One deferred operation; doubles as the Undo click listener.
+     */
+    static final class Operation implements View.OnClickListener {
+        private final UndoBuffer buffer;
+        private final Runnable commit;
+        private final View.OnClickListener onUndo;
+        private boolean undone;
+
+        Operation(UndoBuffer buffer, Runnable commit, View.OnClickListener onUndo) {
+            this.buffer = buffer;
+            this.commit = commit;
+            this.onUndo = onUndo;
+        }
+
+        @Override
+        public void onClick(View v) {
+            undone = true;
+            if (onUndo != null) {
+                onUndo.onClick(v);
+            }
+        }
+
+        /**
+         * Its request is done with, shown or not. Main thread only.
+         */
+        void finish() {
+            buffer.finish(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.content.res.Resources;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Buffering of Activity-less requests while no Activity is in the foreground.
+ */
+public class ForegroundActivityTrackerTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final int[] dropped = new int[SnackbarMetrics.DropReason.values().length];
+    private SnackbarQueue queue;
+    private ForegroundActivityTracker tracker;
+    private Activity activity;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setCapacity(16)
+                .setDedupeWindowMs(0)
+                .build(), new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                return request;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                dropped[reason.ordinal()] += count;
+            }
+        });
+        tracker = new ForegroundActivityTracker(queue);
+        final TestContext context = new TestContext();
+        activity = new Activity() {
+            @Override
+            public Resources getResources() {
+                return context.getResources();
+            }
+        };
+    }
+
+    @Test
+    public void buffersUntilResumedThenDeliversInOrder() {
+        tracker.submit(request("one"));
+        tracker.submit(request("two"));
+        assertTrue(shown.isEmpty());
+        assertEquals(2, tracker.bufferedCount());
+
+        tracker.onActivityResumed(activity);
+
+        assertEquals(0, tracker.bufferedCount());
+        assertEquals(List.of("one"), shown);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void resumedActivityReceivesImmediately() {
+        tracker.onActivityResumed(activity);
+        tracker.submit(request("now"));
+        assertEquals(List.of("now"), shown);
+
+        tracker.onActivityPaused(activity);
+        tracker.submit(request("later"));
+        assertEquals(1, tracker.bufferedCount());
+    }
+
+    @Test
+    public void fullBufferDropsOldest() {
+        tracker.setBuffer(2, 0);
+        tracker.submit(request("one"));
+        tracker.submit(request("two"));
+        tracker.submit(request("three"));
+
+        assertEquals(1, dropped[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+        tracker.onActivityResumed(activity);
+        assertEquals(List.of("two"), shown);
+    }
+
+    @Test
+    public void expiredRequestsAreDropped() {
+        tracker.setBuffer(8, 1_000);
+        SnackbarRequest old = request("old");
+        old.createdNanos -= 5_000_000_000L;
+        tracker.submit(old);
+        tracker.submit(request("fresh"));
+
+        tracker.onActivityResumed(activity);
+
+        assertEquals(1, dropped[SnackbarMetrics.DropReason.EXPIRED.ordinal()]);
+        assertEquals(List.of("fresh"), shown);
+    }
+
+    @Test
+    public void clearedRequestsAreReported() {
+        tracker.submit(request("one"));
+        tracker.submit(request("two"));
+        tracker.clear();
+
+        assertEquals(0, tracker.bufferedCount());
+        assertEquals(2, dropped[SnackbarMetrics.DropReason.CLEARED.ordinal()]);
+        tracker.onActivityResumed(activity);
+        assertTrue(shown.isEmpty());
+    }
+
+    private static SnackbarRequest request(String message) {
+        return SnackbarRequest.obtain(SnackbarStyle.DEFAULT, message, 1_000);
+    }
+}
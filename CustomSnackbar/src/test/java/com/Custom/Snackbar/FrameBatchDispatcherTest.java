@@ -0,0 +1,105 @@
+package com.Custom.Snackbar;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Multi-producer handoff of {@link FrameBatchDispatcher}, with a plain thread standing in
+ * for the main looper.
+ */
+public class FrameBatchDispatcherTest {
+
+    private static final int PRODUCERS = 64;
+    private static final int PER_PRODUCER = 5_000;
+    private static final int TOTAL = PRODUCERS * PER_PRODUCER;
+
+    @Test
+    public void noLostOrDuplicatedItemsUnderContention() throws Exception {
+        final int[] seen = new int[TOTAL];
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicBoolean frameRequested = new AtomicBoolean();
+        final AtomicInteger scheduleCalls = new AtomicInteger();
+
+        final FrameBatchDispatcher<Integer> dispatcher = new FrameBatchDispatcher<>(item -> {
+            // Only the consumer thread touches seen[]
+            seen[item]++;
+            delivered.incrementAndGet();
+        });
+        dispatcher.setScheduler(() -> {
+            scheduleCalls.incrementAndGet();
+            frameRequested.set(true);
+        });
+
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int base = p * PER_PRODUCER;
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    dispatcher.offer(base + i);
+                }
+            });
+            producers[p].start();
+        }
+
+        // "Main thread": drains only when a frame was requested, like the Choreographer would
+        final AtomicInteger frames = new AtomicInteger();
+        Thread consumer = new Thread(() -> {
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (delivered.get() < TOTAL && System.currentTimeMillis() < deadline) {
+                if (frameRequested.getAndSet(false)) {
+                    dispatcher.drain();
+                    frames.incrementAndGet();
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        consumer.start();
+
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        consumer.join();
+
+        assertEquals("delivered", TOTAL, delivered.get());
+        for (int i = 0; i < TOTAL; i++) {
+            if (seen[i] != 1) {
+                fail("item " + i + " delivered " + seen[i] + " times");
+            }
+        }
+        assertTrue(dispatcher.isEmpty());
+        // Batching: far fewer scheduled drains than offers
+        assertTrue("schedules " + scheduleCalls.get(), scheduleCalls.get() <= frames.get() + 1);
+        assertTrue("schedules " + scheduleCalls.get(), scheduleCalls.get() < TOTAL);
+    }
+
+    @Test
+    public void burstOnOneThreadSchedulesSingleDrain() {
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger scheduleCalls = new AtomicInteger();
+        FrameBatchDispatcher<Integer> dispatcher = new FrameBatchDispatcher<>(item -> delivered.incrementAndGet());
+        dispatcher.setScheduler(scheduleCalls::incrementAndGet);
+
+        for (int i = 0; i < 50; i++) {
+            dispatcher.offer(i);
+        }
+        assertEquals(1, scheduleCalls.get());
+        assertEquals(50, dispatcher.drain());
+        assertEquals(50, delivered.get());
+
+        dispatcher.offer(50);
+        assertEquals(2, scheduleCalls.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.Custom.Snackbar;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Folding of grouped messages into one summary request.
+ */
+public class SnackbarGroupTest {
+
+    @Test
+    public void messagesInOneWindowBecomeOneRequest() throws Exception {
+        final List<Integer> undone = new ArrayList<>();
+        final SnackbarGroup<Integer> group = SnackbarGroup.<Integer>builder(count -> count + " items deleted")
+                .setAction("Undo", undone::addAll)
+                .build();
+        final AtomicInteger windowsOpened = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            final int base = t * 50;
+            new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    if (group.add(null, base + i)) {
+                        windowsOpened.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        assertEquals("one flush scheduled per window", 1, windowsOpened.get());
+        SnackbarRequest request = group.takeBatch();
+        assertEquals("200 items deleted", request.resolveMessage().toString());
+        assertEquals(199, request.collapsedCount);
+        assertEquals("Undo", request.actionText);
+
+        request.clickListener.onClick(null);
+        assertEquals(200, undone.size());
+        for (int i = 0; i < 200; i++) {
+            assertTrue(undone.contains(i));
+        }
+    }
+
+    @Test
+    public void windowReopensAfterFlush() {
+        SnackbarGroup<String> group = SnackbarGroup.<String>builder(count -> count + " uploaded").build();
+        assertTrue(group.add(null, "a"));
+        assertFalse(group.add(null, "b"));
+        SnackbarRequest first = group.takeBatch();
+        assertNull(group.takeBatch());
+
+        assertTrue(group.add(null, "c"));
+        SnackbarRequest second = group.takeBatch();
+        assertEquals("1 uploaded", second.resolveMessage().toString());
+        assertFalse(second.hasAction());
+        // Same text in another window must not be suppressed as a duplicate
+        assertFalse(SnackbarRequest.sameKey(first.dedupeKey(), second.dedupeKey()));
+    }
+}
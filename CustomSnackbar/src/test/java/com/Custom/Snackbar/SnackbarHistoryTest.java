@@ -0,0 +1,148 @@
+package com.Custom.Snackbar;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Ring file layout, wrap-around, reopening and reading back, with writes run inline.
+ */
+public class SnackbarHistoryTest {
+
+    private static final int TIMEOUT = BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT;
+    private static final int ACTION = BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_ACTION;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(Files.createTempDirectory("history").toFile(), "history");
+        file.deleteOnExit();
+    }
+
+    @Test
+    public void recordsRoundTrip() throws IOException {
+        SnackbarHistory history = history(8, true);
+        SnackbarRequest request = request("Upload failed").setPriority(SnackbarPriority.HIGH);
+        show(history, request, ACTION);
+
+        List<SnackbarHistory.Record> live = read(history);
+        assertEquals(1, live.size());
+        SnackbarHistory.Record record = live.get(0);
+        assertEquals(0, record.getSequence());
+        assertEquals("Upload failed", record.getText());
+        assertEquals("Upload failed".hashCode(), record.getMessageHash());
+        assertEquals(request.styleHash(), record.getStyleId());
+        assertEquals(ACTION, record.getOutcome());
+        assertEquals(SnackbarPriority.HIGH, record.getPriority());
+        assertTrue(record.getVisibleMillis() >= 0);
+        assertTrue(System.currentTimeMillis() - record.getTimeMillis() < 60_000);
+
+        List<SnackbarHistory.Record> fromFile = new ArrayList<>();
+        SnackbarHistory.read(file, fromFile::add);
+        assertEquals(1, fromFile.size());
+        assertEquals("Upload failed", fromFile.get(0).getText());
+    }
+
+    @Test
+    public void ringKeepsNewestOldestFirst() {
+        SnackbarHistory history = history(4, true);
+        for (int i = 0; i < 10; i++) {
+            show(history, request("message " + i), TIMEOUT);
+        }
+        List<SnackbarHistory.Record> records = read(history);
+        assertEquals(4, records.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, records.get(i).getSequence());
+            assertEquals("message " + (6 + i), records.get(i).getText());
+        }
+        assertEquals(4 * SnackbarHistory.RECORD_SIZE + 32, file.length());
+    }
+
+    @Test
+    public void reopeningContinuesAndSkipsTornRecords() throws IOException {
+        SnackbarHistory first = history(4, true);
+        show(first, request("a"), TIMEOUT);
+        show(first, request("b"), TIMEOUT);
+        show(first, request("c"), TIMEOUT);
+
+        // Simulate a crash in the middle of writing "b": its sequence marker was cleared
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(32 + SnackbarHistory.RECORD_SIZE);
+            raf.writeLong(0);
+        }
+
+        SnackbarHistory second = history(4, true);
+        show(second, request("d"), TIMEOUT);
+        List<String> texts = new ArrayList<>();
+        for (SnackbarHistory.Record record : read(second)) {
+            texts.add(record.getSequence() + record.getText());
+        }
+        assertEquals(List.of("0a", "2c", "3d"), texts);
+    }
+
+    @Test
+    public void differentSizeResetsTheFile() {
+        show(history(4, true), request("old"), TIMEOUT);
+        SnackbarHistory resized = history(8, true);
+        assertTrue(read(resized).isEmpty());
+        show(resized, request("new"), TIMEOUT);
+        assertEquals("new", read(resized).get(0).getText());
+    }
+
+    @Test
+    public void hashOnlyAndTruncation() {
+        SnackbarHistory hashOnly = history(4, false);
+        show(hashOnly, request("account 1234 locked"), TIMEOUT);
+        SnackbarHistory.Record record = read(hashOnly).get(0);
+        assertNull(record.getText());
+        assertEquals("account 1234 locked".hashCode(), record.getMessageHash());
+
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            longText.append('\u00E9');
+        }
+        SnackbarHistory withText = history(4, true);
+        show(withText, request(longText.toString()), TIMEOUT);
+        String stored = read(withText).get(1).getText();
+        // 2 bytes per character: cut at a character boundary
+        assertEquals(SnackbarHistory.MAX_TEXT_BYTES / 2, stored.length());
+        assertEquals(longText.toString().hashCode(), read(withText).get(1).getMessageHash());
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignFileIsRejected() throws IOException {
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        SnackbarHistory.read(file, record -> fail("read " + record));
+    }
+
+    private SnackbarHistory history(int maxRecords, boolean recordText) {
+        return new SnackbarHistory(() -> file, maxRecords, recordText, Runnable::run);
+    }
+
+    private static void show(SnackbarHistory history, SnackbarRequest request, int outcome) {
+        history.observer.onShown(request);
+        history.observer.onDismissed(request, outcome);
+        request.recycle();
+    }
+
+    private static List<SnackbarHistory.Record> read(SnackbarHistory history) {
+        List<SnackbarHistory.Record> records = new ArrayList<>();
+        history.read(records::add);
+        return records;
+    }
+
+    private static SnackbarRequest request(String message) {
+        return SnackbarRequest.obtain(null, message, 44f, 0xFF000000, 0xFF4CAF50, 1, 1_000);
+    }
+}
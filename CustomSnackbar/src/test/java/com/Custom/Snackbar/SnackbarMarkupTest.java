@@ -0,0 +1,148 @@
+package com.Custom.Snackbar;
+
+import android.graphics.Typeface;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+import android.text.style.URLSpan;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Markup parsing, argument substitution and the template cache. Spans are Android classes,
+ * so this runs on Robolectric.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SnackbarMarkupTest {
+
+    @After
+    public void tearDown() {
+        SnackbarMarkup.setCacheSize(0);
+        SnackbarMarkup.setCacheSize(SnackbarMarkup.DEFAULT_CACHE_SIZE);
+    }
+
+    @Test
+    public void spansCoverSubstitutedArguments() {
+        String template = "<b>{0}</b> moved to <a href=\"https://example.com/trash\">Trash</a>";
+        Spanned text = (Spanned) SnackbarMarkup.format(template, "report.pdf");
+
+        assertEquals("report.pdf moved to Trash", text.toString());
+        StyleSpan bold = span(text, StyleSpan.class);
+        assertEquals(Typeface.BOLD, bold.getStyle());
+        assertRange(text, bold, 0, 10);
+        URLSpan link = span(text, URLSpan.class);
+        assertEquals("https://example.com/trash", link.getURL());
+        assertRange(text, link, 20, 25);
+
+        // Longer argument, same template: the spans follow it and are reused
+        text = (Spanned) SnackbarMarkup.format(template, "quarterly-report.pdf");
+        assertSame(bold, span(text, StyleSpan.class));
+        assertRange(text, bold, 0, 20);
+        assertRange(text, span(text, URLSpan.class), 30, 35);
+    }
+
+    @Test
+    public void nestedTagsAndEscapes() {
+        Spanned text = (Spanned) SnackbarMarkup.format("<font color=#FF5722>a <i>b</i></font> \\<c\\> \\{0}");
+
+        assertEquals("a b <c> {0}", text.toString());
+        ForegroundColorSpan color = span(text, ForegroundColorSpan.class);
+        assertEquals(0xFFFF5722, color.getForegroundColor());
+        assertRange(text, color, 0, 3);
+        StyleSpan italic = span(text, StyleSpan.class);
+        assertEquals(Typeface.ITALIC, italic.getStyle());
+        assertRange(text, italic, 2, 3);
+    }
+
+    @Test
+    public void plainTemplatesFormatWithoutSpans() {
+        assertEquals("3 files deleted", SnackbarMarkup.format("{0} files {1}", 3, "deleted").toString());
+        CharSequence constant = SnackbarMarkup.format("Saved");
+        assertSame(constant, SnackbarMarkup.format("Saved"));
+    }
+
+    @Test
+    public void colors() {
+        assertEquals(0xFFFF5722, SnackbarMarkup.Template.parseColor("", 0, "#FF5722"));
+        assertEquals(0x80FF5722, SnackbarMarkup.Template.parseColor("", 0, "#80FF5722"));
+    }
+
+    @Test
+    public void malformedMarkupIsRejected() {
+        String[] bad = {"<b>open", "close</b>", "<b><i>x</b></i>", "<blink>x</blink>", "{x}", "{0",
+                "<font>x</font>", "<font color=red>x</font>", "<a href=\"x>y</a>"};
+        for (String markup : bad) {
+            try {
+                SnackbarMarkup.Template.parse(markup);
+                fail("accepted " + markup);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+        try {
+            SnackbarMarkup.format("{0} and {1}", "one");
+            fail("missing argument accepted");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void cacheIsBoundedAndKeepsRecentlyUsed() {
+        SnackbarMarkup.setCacheSize(2);
+        SnackbarMarkup.Template a = SnackbarMarkup.template("a {0}");
+        SnackbarMarkup.template("b {0}");
+        assertSame(a, SnackbarMarkup.template("a {0}"));
+        // "b" is now the least recently used and makes room for "c"
+        SnackbarMarkup.template("c {0}");
+        assertEquals(2, SnackbarMarkup.cachedCount());
+        assertSame(a, SnackbarMarkup.template("a {0}"));
+
+        SnackbarMarkup.setCacheSize(0);
+        assertEquals(0, SnackbarMarkup.cachedCount());
+        assertNotSame(SnackbarMarkup.template("a {0}"), SnackbarMarkup.template("a {0}"));
+    }
+
+    @Test
+    public void messagesFormatLazilyAndCompareByTemplateAndArguments() {
+        String template = "<b>{0}</b> deleted";
+        SnackbarMarkup.Message message = SnackbarMarkup.message(template, "Report.pdf");
+        assertEquals(message, SnackbarMarkup.message(template, "Report.pdf"));
+        assertEquals(message.hashCode(), SnackbarMarkup.message(template, "Report.pdf").hashCode());
+        assertNotEquals(message, SnackbarMarkup.message(template, "Notes.txt"));
+        assertNotEquals(message, SnackbarMarkup.message("<i>{0}</i> deleted", "Report.pdf"));
+
+        assertEquals("Report.pdf deleted", message.get().toString());
+        // Malformed markup and missing arguments still fail in the caller
+        try {
+            SnackbarMarkup.message(template);
+            fail("missing argument accepted");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+        try {
+            SnackbarMarkup.message("<b>open", "x");
+            fail("malformed markup accepted");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    private static <T> T span(Spanned text, Class<T> type) {
+        T[] spans = text.getSpans(0, text.length(), type);
+        assertEquals(1, spans.length);
+        return spans[0];
+    }
+
+    private static void assertRange(Spanned text, Object span, int start, int end) {
+        assertEquals(start, text.getSpanStart(span));
+        assertEquals(end, text.getSpanEnd(span));
+    }
+}
@@ -0,0 +1,150 @@
+package com.Custom.Snackbar;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Filter, transform and observe stages around the queue.
+ */
+public class SnackbarPipelineTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private final List<Runnable> mainTasks = new ArrayList<>();
+    private final int[] drops = new int[SnackbarMetrics.DropReason.values().length];
+    private SnackbarQueue queue;
+    private SnackbarPipeline pipeline;
+    private Object visible;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                drops[reason.ordinal()] += count;
+            }
+        });
+        pipeline = new SnackbarPipeline(queue, mainTasks::add);
+    }
+
+    @Test
+    public void emptyPipelinePassesThrough() {
+        SnackbarRequest request = request("hello");
+        assertTrue(pipeline.process(request));
+        assertEquals("hello", request.resolveMessage());
+        assertTrue(mainTasks.isEmpty());
+    }
+
+    @Test
+    public void stagesRunInOrder() {
+        pipeline.addFilter(request -> {
+            events.add("filter");
+            return null;
+        });
+        pipeline.addTransform(request -> {
+            events.add("transform 1");
+            request.setPriority(SnackbarPriority.HIGH);
+        });
+        pipeline.addTransform(request -> {
+            events.add("transform 2");
+            assertEquals(SnackbarPriority.HIGH, request.priority);
+        });
+
+        assertTrue(pipeline.process(request("hello")));
+        assertEquals(List.of("filter", "transform 1", "transform 2"), events);
+    }
+
+    @Test
+    public void rejectedRequestsAreReportedOncePerBurst() {
+        SnackbarPipeline.Filter dropAll = request -> SnackbarMetrics.DropReason.DUPLICATE;
+        pipeline.addFilter(dropAll);
+        SnackbarPipeline.Transform mustNotRun = request -> fail("transform after rejection");
+        pipeline.addTransform(mustNotRun);
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(pipeline.process(request("spam")));
+        }
+        assertEquals(1, mainTasks.size());
+        assertEquals(0, drops[SnackbarMetrics.DropReason.DUPLICATE.ordinal()]);
+
+        mainTasks.remove(0).run();
+        assertEquals(5, drops[SnackbarMetrics.DropReason.DUPLICATE.ordinal()]);
+
+        pipeline.removeFilter(dropAll);
+        pipeline.removeTransform(mustNotRun);
+        assertTrue(pipeline.process(request("ok")));
+    }
+
+    @Test
+    public void rejectedRequestsAreRecycledOnTheMainThread() throws InterruptedException {
+        pipeline.addFilter(request -> SnackbarMetrics.DropReason.RATE_LIMITED);
+        List<Runnable> commits = new ArrayList<>();
+        UndoBuffer undo = new UndoBuffer(commits::add);
+        SnackbarRequest request = request("Deleted").setUndo("Undo", undo.register(() -> {
+        }, null));
+
+        Thread caller = new Thread(() -> assertFalse(pipeline.process(request)));
+        caller.start();
+        caller.join();
+        // The undo operation is still outstanding until the main thread recycles the request
+        assertEquals(1, undo.outstandingCount());
+
+        mainTasks.remove(0).run();
+        assertEquals(0, undo.outstandingCount());
+        assertEquals(1, drops[SnackbarMetrics.DropReason.RATE_LIMITED.ordinal()]);
+    }
+
+    @Test
+    public void observersSeeShownAndDismissed() {
+        SnackbarPipeline.Observer observer = new SnackbarPipeline.Observer() {
+            @Override
+            public void onShown(SnackbarRequest request) {
+                events.add("shown " + request.resolveMessage());
+            }
+
+            @Override
+            public void onDismissed(SnackbarRequest request, int dismissEvent) {
+                events.add("dismissed " + request.resolveMessage() + " " + dismissEvent);
+            }
+        };
+        pipeline.addObserver(observer);
+
+        queue.enqueue(request("a"));
+        queue.onShown(visible);
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertEquals(List.of("shown a",
+                "dismissed a " + BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT), events);
+
+        pipeline.removeObserver(observer);
+        queue.enqueue(request("b"));
+        queue.onShown(visible);
+        assertEquals(2, events.size());
+    }
+
+    private static SnackbarRequest request(String message) {
+        return SnackbarRequest.obtain(null, message, 44f, 0, 0, 1, 1_000);
+    }
+}
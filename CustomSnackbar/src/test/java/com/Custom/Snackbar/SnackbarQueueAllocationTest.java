@@ -0,0 +1,117 @@
+package com.Custom.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards the steady-state show path against allocation regressions: after warm-up, pushing
+ * requests through the queue (show, dismiss, duplicates, overflow) must not allocate.
+ * The presenter is a stub, so only the library's own work is counted.
+ */
+public class SnackbarQueueAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    // Tolerance for measurement noise, far below one allocation per iteration
+    private static final long MAX_ALLOCATED_BYTES = 4 * 1024;
+
+    private static final String[] MESSAGES = {"Saved", "Sync failed", "Deleted", "Offline"};
+    private static final String[] FLOOD_MESSAGES = new String[64];
+    private static final Object HANDLE = new Object();
+
+    static {
+        for (int i = 0; i < FLOOD_MESSAGES.length; i++) {
+            FLOOD_MESSAGES[i] = "Item " + i + " failed to sync";
+        }
+    }
+
+    private static final SnackbarQueue.Presenter PRESENTER = new SnackbarQueue.Presenter() {
+        @Override
+        public Object show(SnackbarRequest request) {
+            request.resolveMessage();
+            return HANDLE;
+        }
+
+        @Override
+        public void dismiss(Object handle) {
+        }
+
+        @Override
+        public void shorten(Object handle, int durationMs) {
+        }
+    };
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("per-thread allocation counters unavailable",
+                bean instanceof com.sun.management.ThreadMXBean
+                        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void showAndDismissDoesNotAllocate() {
+        SnackbarQueue queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setDedupeWindowMs(0)
+                .build(), PRESENTER);
+
+        showAndDismiss(queue, WARMUP);
+        long allocated = allocatedBytes();
+        showAndDismiss(queue, ITERATIONS);
+        allocated = allocatedBytes() - allocated;
+
+        assertTrue("allocated " + allocated + " bytes in " + ITERATIONS + " shows",
+                allocated < MAX_ALLOCATED_BYTES);
+    }
+
+    @Test
+    public void floodWithDuplicatesAndOverflowDoesNotAllocate() {
+        SnackbarQueue queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, PRESENTER);
+        queue.setMetrics(new SnackbarMetrics() {
+        });
+
+        flood(queue, WARMUP);
+        long allocated = allocatedBytes();
+        flood(queue, ITERATIONS);
+        allocated = allocatedBytes() - allocated;
+
+        assertTrue("allocated " + allocated + " bytes in " + ITERATIONS + " requests",
+                allocated < MAX_ALLOCATED_BYTES);
+        assertEquals(SnackbarQueue.Config.DEFAULT.getCapacity(), queue.size());
+    }
+
+    private static void showAndDismiss(SnackbarQueue queue, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.enqueue(request(MESSAGES[i & 3], SnackbarPriority.NORMAL));
+            queue.onShown(HANDLE);
+            queue.onDismissed(HANDLE, 2);
+        }
+    }
+
+    private static void flood(SnackbarQueue queue, int count) {
+        // One snackbar stays on screen; every message arrives twice (the repeat is a duplicate)
+        // and the rest overflows the buffer
+        for (int i = 0; i < count; i++) {
+            SnackbarPriority priority = (i & 15) == 0 ? SnackbarPriority.HIGH : SnackbarPriority.LOW;
+            queue.enqueue(request(FLOOD_MESSAGES[(i >> 1) & 63], priority));
+        }
+    }
+
+    private static SnackbarRequest request(String message, SnackbarPriority priority) {
+        return SnackbarRequest.obtain(null, message, 42f, 0xFF000000, 0xFF4CAF50,
+                SnackbarStyle.DEFAULT_MAX_LINES, -1).setPriority(priority);
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,83 @@
+package com.Custom.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replacing the configuration of a queue that already holds requests.
+ */
+public class SnackbarQueueConfigTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<Integer> depths = new ArrayList<>();
+    private final int[] drops = new int[SnackbarMetrics.DropReason.values().length];
+    private SnackbarQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                return new Object();
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                drops[reason.ordinal()] += count;
+            }
+
+            @Override
+            public void onQueueDepth(int depth) {
+                depths.add(depth);
+            }
+        });
+    }
+
+    @Test
+    public void shrinkingCapacityReportsTrimmedRequests() {
+        queue.enqueue(request("visible", SnackbarPriority.NORMAL));
+        queue.enqueue(request("low", SnackbarPriority.LOW));
+        queue.enqueue(request("normal 1", SnackbarPriority.NORMAL));
+        queue.enqueue(request("normal 2", SnackbarPriority.NORMAL));
+        queue.enqueue(request("high", SnackbarPriority.HIGH));
+        assertEquals(4, queue.size());
+
+        queue.setConfig(new SnackbarQueue.Config.Builder().setCapacity(2).build());
+
+        assertEquals(2, queue.size());
+        assertEquals(2, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+        assertEquals(2, (int) depths.get(depths.size() - 1));
+    }
+
+    @Test
+    public void growingCapacityDropsNothing() {
+        queue.enqueue(request("visible", SnackbarPriority.NORMAL));
+        queue.enqueue(request("waiting", SnackbarPriority.NORMAL));
+        depths.clear();
+
+        queue.setConfig(new SnackbarQueue.Config.Builder().setCapacity(16).build());
+
+        assertEquals(1, queue.size());
+        assertEquals(0, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+        assertTrue(depths.isEmpty());
+    }
+
+    private static SnackbarRequest request(String message, SnackbarPriority priority) {
+        return SnackbarRequest.obtain(null, message, 44f, 0, 0, 1, 1_000).setPriority(priority);
+    }
+}
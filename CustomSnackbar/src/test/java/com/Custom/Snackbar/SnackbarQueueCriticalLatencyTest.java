@@ -0,0 +1,104 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The bound on critical show latency: a critical request reaches the presenter as soon as the
+ * lower-priority snackbar it dismisses is gone, whatever else is waiting, gated or shown in
+ * other windows, so its call-to-visible time never includes another snackbar's duration.
+ */
+public class SnackbarQueueCriticalLatencyTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private SnackbarQueue queue;
+    private Object visible;
+
+    @Test
+    public void criticalShowsWithinEnqueue() {
+        setUp(false);
+        queue.enqueue(request(null, "high", SnackbarPriority.HIGH));
+        assertCriticalBounded(null);
+    }
+
+    @Test
+    public void criticalShowsWithinEnqueueAcrossWindows() {
+        setUp(true);
+        Activity left = new WindowActivity(1);
+        queue.enqueue(request(left, "high", SnackbarPriority.HIGH));
+        queue.enqueue(request(new WindowActivity(2), "waiting", SnackbarPriority.HIGH));
+        assertCriticalBounded(new WindowActivity(3));
+    }
+
+    private void assertCriticalBounded(Activity activity) {
+        // A full buffer of waiting requests, behind a closed gate in single-queue mode
+        for (int i = 0; i < 4; i++) {
+            queue.enqueue(request(activity, "low" + i, SnackbarPriority.LOW));
+        }
+        queue.resetShowLatency();
+
+        long start = System.nanoTime();
+        queue.enqueue(request(activity, "critical", SnackbarPriority.CRITICAL));
+        // The presenter reports the dismissal synchronously, so this is the enqueue call alone
+        assertEquals("critical", shown.get(shown.size() - 1));
+        queue.onShown(visible);
+        long bound = System.nanoTime() - start;
+
+        long worst = queue.getWorstShowLatencyNanos(SnackbarPriority.CRITICAL);
+        assertTrue(worst > 0);
+        assertTrue("critical latency " + worst + " ns exceeds the preemption", worst <= bound);
+    }
+
+    private void setUp(boolean perWindow) {
+        queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setCapacity(4)
+                .setMaxShowDeferralMs(60_000)
+                .setPerWindow(perWindow)
+                .build(), new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+                // Material reports it once the exit animation ends
+                queue.onDismissed(handle, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        if (!perWindow) {
+            queue.setShowGate(deadlineNanos -> false);
+        }
+    }
+
+    private static SnackbarRequest request(Activity activity, String message, SnackbarPriority priority) {
+        return SnackbarRequest.obtain(activity, message, 44f, 0, 0, 1, 60_000).setPriority(priority);
+    }
+
+    private static final class WindowActivity extends Activity {
+        private final int taskId;
+
+        WindowActivity(int taskId) {
+            this.taskId = taskId;
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+    }
+}
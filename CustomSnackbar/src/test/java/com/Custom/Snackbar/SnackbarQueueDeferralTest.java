@@ -0,0 +1,148 @@
+package com.Custom.Snackbar;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Frame-budget deferral of non-urgent snackbars through {@link SnackbarQueue.ShowGate}.
+ */
+public class SnackbarQueueDeferralTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<Long> deadlines = new ArrayList<>();
+    private final List<Long> deferrals = new ArrayList<>();
+    private int cancels;
+    private SnackbarQueue queue;
+    private Object visible;
+    private boolean gateOpen;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setMaxShowDeferralMs(300)
+                .build(), new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        queue.setShowGate(new SnackbarQueue.ShowGate() {
+            @Override
+            public boolean tryPass(long deadlineNanos) {
+                deadlines.add(deadlineNanos);
+                return gateOpen;
+            }
+
+            @Override
+            public void cancel() {
+                cancels++;
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onShowDeferred(SnackbarPriority priority, long deferredNanos) {
+                deferrals.add(deferredNanos);
+            }
+        });
+    }
+
+    @Test
+    public void normalRequestWaitsForGate() {
+        SnackbarRequest request = request("later", SnackbarPriority.NORMAL);
+        queue.enqueue(request);
+
+        assertTrue(shown.isEmpty());
+        assertEquals(1, queue.size());
+        assertEquals(1, deadlines.size());
+        assertEquals(request.enqueueTimeNanos + 300_000_000L, (long) deadlines.get(0));
+
+        // More requests while waiting don't ask the gate again
+        queue.enqueue(request("even later", SnackbarPriority.LOW));
+        assertEquals(1, deadlines.size());
+
+        queue.onGateOpen();
+        assertEquals(List.of("later"), shown);
+        assertEquals(1, deferrals.size());
+    }
+
+    @Test
+    public void urgentRequestBypassesGate() {
+        queue.enqueue(request("normal", SnackbarPriority.NORMAL));
+        queue.enqueue(request("high", SnackbarPriority.HIGH));
+        assertEquals(List.of("high"), shown);
+
+        // The pending gate callback shows nothing while the urgent snackbar is up...
+        queue.onGateOpen();
+        assertEquals(List.of("high"), shown);
+        // ...and the deferred one asks again once it is the next in line
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertEquals(1, shown.size());
+        assertEquals(2, deadlines.size());
+        gateOpen = true;
+        queue.enqueue(request("another", SnackbarPriority.NORMAL));
+        assertEquals(2, deadlines.size());
+        queue.onGateOpen();
+        assertEquals(List.of("high", "normal"), shown);
+    }
+
+    @Test
+    public void bypassWithdrawsTheGateBeforeDeferringAgain() {
+        SnackbarRequest normal = request("normal", SnackbarPriority.NORMAL);
+        queue.enqueue(normal);
+        long deadline = normal.enqueueTimeNanos + 300_000_000L;
+        queue.enqueue(request("high", SnackbarPriority.HIGH));
+
+        // The urgent request withdrew the arranged callback instead of leaving it posted
+        assertEquals(1, cancels);
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertEquals(List.of(deadline, deadline), deadlines);
+        assertEquals(1, cancels);
+
+        // Only the new wait opens it
+        queue.onGateOpen();
+        assertEquals(List.of("high", "normal"), shown);
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertEquals(1, cancels);
+    }
+
+    @Test
+    public void urgentSnackbarTimeIsNotReportedAsDeferral() {
+        queue.enqueue(request("normal", SnackbarPriority.NORMAL));
+        queue.enqueue(request("high", SnackbarPriority.HIGH));
+
+        gateOpen = true;
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertEquals(List.of("high", "normal"), shown);
+        // It passed the gate at once after the urgent one; nothing was deferred
+        assertTrue(deferrals.isEmpty());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        queue.setConfig(SnackbarQueue.Config.DEFAULT);
+        queue.enqueue(request("now", SnackbarPriority.LOW));
+        assertEquals(List.of("now"), shown);
+        assertTrue(deadlines.isEmpty());
+    }
+
+    private static SnackbarRequest request(String message, SnackbarPriority priority) {
+        return SnackbarRequest.obtain(null, message, 44f, 0, 0, 1, 1_000).setPriority(priority);
+    }
+}
@@ -0,0 +1,123 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * What happens to waiting and visible requests when their Activity is destroyed, for good or
+ * for a configuration change.
+ */
+public class SnackbarQueueLifecycleTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<Object> dismissed = new ArrayList<>();
+    private final int[] destroyedDrops = new int[1];
+    private SnackbarQueue queue;
+    private Object visible;
+    private Activity first;
+    private Activity second;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+                dismissed.add(handle);
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                if (reason == DropReason.DESTROYED) {
+                    destroyedDrops[0] += count;
+                }
+            }
+        });
+        first = new Activity();
+        second = new Activity();
+    }
+
+    @Test
+    public void destroyDismissesVisibleAndDropsWaiting() {
+        queue.enqueue(request(first, "a1"));
+        queue.enqueue(request(second, "b1"));
+        queue.enqueue(request(first, "a2"));
+
+        queue.removeAll(first, null);
+
+        assertEquals(1, dismissed.size());
+        assertEquals(1, destroyedDrops[0]);
+        // The other Activity's request takes over right away
+        assertEquals(List.of("a1", "b1"), shown);
+        assertEquals(0, queue.size());
+        // Material's late callback for the dismissed snackbar is ignored
+        queue.onDismissed(dismissed.get(0), BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+        assertTrue(queue.isShowing());
+    }
+
+    @Test
+    public void configurationChangeReattachesInOrder() {
+        queue.enqueue(request(first, "a1"));
+        queue.enqueue(request(first, "a2"));
+        queue.enqueue(request(first, "a3"));
+
+        List<SnackbarRequest> parked = new ArrayList<>();
+        queue.removeAll(first, parked);
+        assertEquals(3, parked.size());
+        assertFalse(queue.isShowing());
+        for (SnackbarRequest request : parked) {
+            assertNull("parked requests must not pin the old Activity", request.activity);
+        }
+
+        queue.restore(parked, second);
+        assertTrue(parked.isEmpty());
+        assertEquals(0, destroyedDrops[0]);
+        assertEquals(List.of("a1", "a1"), shown);
+        finishVisible();
+        finishVisible();
+        assertEquals(List.of("a1", "a1", "a2", "a3"), shown);
+    }
+
+    @Test
+    public void discardReportsDestroyed() {
+        queue.enqueue(request(first, "a1"));
+        queue.enqueue(request(first, "a2"));
+        List<SnackbarRequest> parked = new ArrayList<>();
+        queue.removeAll(first, parked);
+
+        queue.discard(parked);
+
+        assertEquals(2, destroyedDrops[0]);
+        assertTrue(parked.isEmpty());
+        assertFalse(queue.isShowing());
+    }
+
+    private void finishVisible() {
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+    }
+
+    private SnackbarRequest request(Activity activity, String message) {
+        return SnackbarRequest.obtain(activity, message, 44f, 0xFF000000, 0xFF4CAF50,
+                SnackbarStyle.DEFAULT_MAX_LINES, 1_000);
+    }
+}
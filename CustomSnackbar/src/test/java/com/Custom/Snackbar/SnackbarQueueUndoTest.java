@@ -0,0 +1,162 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Undo requests in the queue: never evicted, reported when dropped anyway, and never kept
+ * reachable by duplicate suppression.
+ */
+public class SnackbarQueueUndoTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<Runnable> commits = new ArrayList<>();
+    private final int[] drops = new int[SnackbarMetrics.DropReason.values().length];
+    private final UndoBuffer buffer = new UndoBuffer(commits::add);
+    private SnackbarQueue queue;
+    private Object visible;
+    private Activity activity;
+
+    @Before
+    public void setUp() {
+        activity = new Activity();
+        queue = newQueue(new SnackbarQueue.Config.Builder().setCapacity(1).build());
+    }
+
+    @Test
+    public void undoIsNeverEvictedOnOverflow() {
+        queue.enqueue(request("visible"));
+        queue.enqueue(undo("Deleted"));
+        queue.enqueue(request("newer"));
+
+        // The newer request is refused rather than committing the undo unseen
+        assertEquals(1, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+        assertEquals(1, queue.size());
+        assertEquals(1, buffer.outstandingCount());
+    }
+
+    @Test
+    public void undoIsNeverCollapsed() {
+        queue.setConfig(new SnackbarQueue.Config.Builder()
+                .setCapacity(1)
+                .setOverflowPolicy(SnackbarQueue.OverflowPolicy.COLLAPSE)
+                .build());
+        queue.enqueue(request("visible"));
+        queue.enqueue(undo("Deleted"));
+        queue.enqueue(request("newer"));
+
+        assertEquals(0, drops[SnackbarMetrics.DropReason.COLLAPSED.ordinal()]);
+        assertEquals(1, buffer.outstandingCount());
+    }
+
+    @Test
+    public void droppedUndoIsReportedAsCommitted() {
+        queue.enqueue(request("visible"));
+        queue.enqueue(undo("first"));
+        // Full of undo requests: the new one cannot be kept
+        queue.enqueue(undo("second"));
+        assertEquals(1, drops[SnackbarMetrics.DropReason.UNDO_COMMITTED.ordinal()]);
+        assertEquals(0, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+
+        queue.removeAll(activity, null);
+        assertEquals(2, drops[SnackbarMetrics.DropReason.UNDO_COMMITTED.ordinal()]);
+        assertEquals(0, drops[SnackbarMetrics.DropReason.DESTROYED.ordinal()]);
+        assertEquals(0, buffer.outstandingCount());
+        assertEquals(1, commits.size());
+    }
+
+    @Test
+    public void undoIsNotKeptByDuplicateSuppression() {
+        WeakReference<Object> ref = enqueueUndo();
+        // Shown, timed out and recycled as usual
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+        assertFalse(queue.isShowing());
+        assertCollected(ref);
+    }
+
+    @Test
+    public void destroyedActivityKeysAreForgotten() {
+        WeakReference<Object> ref = enqueueKeyed();
+        queue.removeAll(activity, null);
+        assertCollected(ref);
+    }
+
+    @Test
+    public void expiredKeysAreForgotten() throws InterruptedException {
+        queue.setConfig(new SnackbarQueue.Config.Builder().setCapacity(1).setDedupeWindowMs(1).build());
+        WeakReference<Object> ref = enqueueKeyed();
+        queue.clear();
+        Thread.sleep(5);
+
+        // Any later request sweeps the expired slot
+        queue.enqueue(request("later"));
+        assertCollected(ref);
+    }
+
+    private WeakReference<Object> enqueueUndo() {
+        Object target = new Object();
+        queue.enqueue(request("Deleted").setUndo("Undo", buffer.register(() -> {
+        }, v -> target.hashCode())));
+        return new WeakReference<>(target);
+    }
+
+    private WeakReference<Object> enqueueKeyed() {
+        Object key = new Object();
+        queue.enqueue(request("visible"));
+        queue.enqueue(request("keyed").setDedupeKey(key));
+        return new WeakReference<>(key);
+    }
+
+    private static void assertCollected(WeakReference<Object> ref) {
+        for (int i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.yield();
+        }
+        assertNull("still reachable from the queue", ref.get());
+    }
+
+    private SnackbarQueue newQueue(SnackbarQueue.Config config) {
+        SnackbarQueue created = new SnackbarQueue(config, new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        created.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                drops[reason.ordinal()] += count;
+            }
+        });
+        return created;
+    }
+
+    private SnackbarRequest request(String message) {
+        return SnackbarRequest.obtain(activity, message, 44f, 0, 0, 1, 1_000);
+    }
+
+    private SnackbarRequest undo(String message) {
+        return request(message).setUndo("Undo", buffer.register(() -> {
+        }, null));
+    }
+}
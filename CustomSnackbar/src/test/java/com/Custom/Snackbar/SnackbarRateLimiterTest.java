@@ -0,0 +1,229 @@
+package com.Custom.Snackbar;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Global and per-key token buckets, including contention from many threads.
+ */
+public class SnackbarRateLimiterTest {
+
+    // Slow enough that no token is refilled while a test runs
+    private static final double TRICKLE = 0.001;
+
+    @Test
+    public void perKeyBurstThenSuppressed() {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setPerKeyRate(TRICKLE, 3)
+                .build());
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (tryAcquire(limiter, "Offline", SnackbarPriority.NORMAL)) {
+                accepted++;
+            }
+        }
+        assertEquals(3, accepted);
+        // A different message has its own bucket
+        assertTrue(tryAcquire(limiter, "Saved", SnackbarPriority.NORMAL));
+        assertEquals(Integer.valueOf(7), limiter.getSuppressedCounts().get("Offline"));
+        assertNull(limiter.getSuppressedCounts().get("Saved"));
+    }
+
+    @Test
+    public void globalLimitAppliesAcrossKeysExceptCritical() {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setGlobalRate(TRICKLE, 2)
+                .build());
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertTrue(tryAcquire(limiter, "b", SnackbarPriority.LOW));
+        assertFalse(tryAcquire(limiter, "c", SnackbarPriority.HIGH));
+        assertTrue(tryAcquire(limiter, "d", SnackbarPriority.CRITICAL));
+        assertEquals(1, limiter.getSuppressedTotal());
+    }
+
+    @Test
+    public void undoRequestsAreNeverLimited() {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setGlobalRate(TRICKLE, 1)
+                .build());
+        UndoBuffer buffer = new UndoBuffer(Runnable::run);
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        SnackbarRequest undo = request("Deleted", SnackbarPriority.NORMAL)
+                .setUndo("Undo", buffer.register(() -> {
+                }, null));
+        assertTrue(limiter.tryAcquire(undo));
+        assertEquals(0, limiter.getSuppressedTotal());
+        undo.recycle();
+    }
+
+    @Test
+    public void globalRejectKeepsTheKeyToken() throws InterruptedException {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setGlobalRate(20, 1)
+                .setPerKeyRate(TRICKLE, 1)
+                .build());
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "b", SnackbarPriority.NORMAL));
+        // Once the global bucket refills, "b" still has the token it never got to use
+        Thread.sleep(60);
+        assertTrue(tryAcquire(limiter, "b", SnackbarPriority.NORMAL));
+    }
+
+    @Test
+    public void quietKeysMakeRoomForNewOnes() throws InterruptedException {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setPerKeyRate(1_000, 1)
+                .setMaxTrackedKeys(2)
+                .build());
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertTrue(tryAcquire(limiter, "b", SnackbarPriority.NORMAL));
+        // Both tracked keys are busy: "c" goes to the shared bucket
+        assertTrue(tryAcquire(limiter, "c", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "d", SnackbarPriority.NORMAL));
+
+        Thread.sleep(5);
+        assertTrue(tryAcquire(limiter, "e", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "e", SnackbarPriority.NORMAL));
+        assertEquals(Integer.valueOf(1), limiter.getSuppressedCounts().get("e"));
+    }
+
+    @Test
+    public void leastRecentlyUsedKeyIsForgottenFirst() throws InterruptedException {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setPerKeyRate(1_000, 1)
+                .setMaxTrackedKeys(2)
+                .build());
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertTrue(tryAcquire(limiter, "b", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        Thread.sleep(5);
+
+        // "b" was used longest ago, so it makes room for "c" and "a" keeps its count
+        assertTrue(tryAcquire(limiter, "c", SnackbarPriority.NORMAL));
+        assertEquals(Integer.valueOf(1), limiter.getSuppressedCounts().get("a"));
+        assertFalse(limiter.getSuppressedCounts().containsKey("b"));
+    }
+
+    @Test
+    public void styledTextSharesTheBucketOfItsCharacters() {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setPerKeyRate(TRICKLE, 1)
+                .build());
+
+        StringBuilder styled = new StringBuilder("Offline");
+        assertTrue(tryAcquire(limiter, styled, SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "Offline", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, new StringBuilder("Offline"), SnackbarPriority.NORMAL));
+        assertTrue(tryAcquire(limiter, new StringBuilder("Offline!"), SnackbarPriority.NORMAL));
+        // Tracked under a copy, so later edits to the text don't move the bucket
+        styled.append('!');
+        assertEquals(Integer.valueOf(2), limiter.getSuppressedCounts().get("Offline"));
+    }
+
+    @Test
+    public void keysAreNotTrackedWithoutPerKeyRate() {
+        SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setGlobalRate(TRICKLE, 1)
+                .build());
+
+        assertTrue(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertFalse(tryAcquire(limiter, "a", SnackbarPriority.NORMAL));
+        assertEquals(1, limiter.getSuppressedTotal());
+        assertTrue(limiter.getSuppressedCounts().isEmpty());
+    }
+
+    @Test
+    public void contendedBucketNeverOverAdmits() throws InterruptedException {
+        final int burst = 50;
+        final SnackbarRateLimiter limiter = new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setGlobalRate(TRICKLE, burst)
+                .setPerKeyRate(TRICKLE, burst)
+                .build());
+        final AtomicInteger accepted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (tryAcquire(limiter, "flap", SnackbarPriority.NORMAL)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(burst, accepted.get());
+        assertEquals(80_000 - burst, limiter.getSuppressedTotal());
+        assertEquals(Integer.valueOf(80_000 - burst), limiter.getSuppressedCounts().get("flap"));
+    }
+
+    @Test
+    public void suppressedRequestsAreReportedThroughThePipeline() {
+        SnackbarQueue queue = new SnackbarQueue(SnackbarQueue.Config.DEFAULT, new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                return new Object();
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+            }
+        });
+        final int[] rateLimited = new int[1];
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                if (reason == DropReason.RATE_LIMITED) {
+                    rateLimited[0] += count;
+                }
+            }
+        });
+        SnackbarPipeline pipeline = new SnackbarPipeline(queue, Runnable::run);
+        pipeline.addFilter(new SnackbarRateLimiter(new SnackbarRateLimiter.Config.Builder()
+                .setPerKeyRate(TRICKLE, 1)
+                .build()).filter);
+
+        assertTrue(pipeline.process(request("Retrying", SnackbarPriority.NORMAL)));
+        assertFalse(pipeline.process(request("Retrying", SnackbarPriority.NORMAL)));
+        assertFalse(pipeline.process(request("Retrying", SnackbarPriority.NORMAL)));
+        assertEquals(2, rateLimited[0]);
+    }
+
+    private static boolean tryAcquire(SnackbarRateLimiter limiter, CharSequence message, SnackbarPriority priority) {
+        SnackbarRequest request = request(message, priority);
+        boolean accepted = limiter.tryAcquire(request);
+        request.recycle();
+        return accepted;
+    }
+
+    private static SnackbarRequest request(CharSequence message, SnackbarPriority priority) {
+        return SnackbarRequest.obtain(null, message, 44f, 0, 0, 1, 1_000).setPriority(priority);
+    }
+}
@@ -0,0 +1,162 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.os.Bundle;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+/**
+ * Notification flood from many threads while activities are created, recreated for a
+ * configuration change and destroyed, run through the dispatcher, the queue and the real
+ * {@link SnackbarRenderer} on Robolectric. The test thread is the main looper: each "frame"
+ * drains the dispatcher and advances the looper far enough for the visible snackbar to slide
+ * in and time out.
+ * <p>
+ * Checks that the buffer and the snackbar pools stay bounded, that at most one snackbar is
+ * visible, and that no destroyed Activity stays reachable through the queue, the renderer's
+ * hosts, pooled snackbars or their callbacks.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SnackbarRendererStressTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PER_PRODUCER = 250;
+    private static final int FRAMES_PER_ACTIVITY = 4;
+    private static final long PRODUCER_PAUSE_NANOS = 2_000_000;
+    private static final int DURATION_MS = 1_500;
+    // Looper time per frame: entrance animation, timeout and exit animation of one snackbar
+    private static final long FRAME_MS = 2_500;
+    private static final int CAPACITY = 8;
+
+    @Test
+    public void floodAcrossThreadsAndActivityLifecycles() throws Exception {
+        // Run in its own frame so no local of the flood keeps an Activity reachable
+        List<WeakReference<Activity>> destroyed = flood();
+        assertEquals("activities reachable after onDestroy", 0, countReachable(destroyed));
+    }
+
+    private List<WeakReference<Activity>> flood() throws InterruptedException {
+        SnackbarRenderer renderer = new SnackbarRenderer();
+        SnackbarQueue queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setCapacity(CAPACITY)
+                .build(), renderer);
+        renderer.setQueue(queue);
+        int[] visible = new int[1];
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onShown(SnackbarPriority priority, long latencyNanos) {
+                visible[0]++;
+                assertTrue("visible snackbars " + visible[0], visible[0] <= 1);
+            }
+
+            @Override
+            public void onDismissed(int dismissEvent, long visibleNanos) {
+                visible[0]--;
+            }
+        });
+        FrameBatchDispatcher<SnackbarRequest> dispatcher = new FrameBatchDispatcher<>(queue::enqueue);
+        dispatcher.setScheduler(() -> {
+        });
+
+        List<WeakReference<Activity>> destroyed = new ArrayList<>();
+        ActivityController<HostActivity> controller = Robolectric.buildActivity(HostActivity.class).setup();
+        AtomicReference<Activity> resumed = new AtomicReference<>(controller.get());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        dispatcher.offer(SnackbarRequest.obtain(resumed.get(), producer + ":" + i, 44f,
+                                0xFF000000, 0xFF4CAF50, SnackbarStyle.DEFAULT_MAX_LINES, DURATION_MS));
+                        if ((i & 15) == 0) {
+                            // Spread the flood over many frames and several activities
+                            LockSupport.parkNanos(PRODUCER_PAUSE_NANOS);
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        start.countDown();
+        int frames = 0;
+        while (done.getCount() > 0 || !dispatcher.isEmpty() || queue.isShowing() || queue.size() > 0) {
+            dispatcher.drain();
+            assertTrue("pending " + queue.size(), queue.size() <= CAPACITY);
+            ShadowLooper.idleMainLooper(FRAME_MS, TimeUnit.MILLISECONDS);
+            assertTrue("hosts " + renderer.hostCount(), renderer.hostCount() <= 1);
+            assertTrue("pooled " + renderer.pooledCount(),
+                    renderer.pooledCount() <= SnackbarRenderer.DEFAULT_POOL_SIZE);
+
+            if (++frames % FRAMES_PER_ACTIVITY == 0) {
+                destroyed.add(new WeakReference<>(controller.get()));
+                if ((frames / FRAMES_PER_ACTIVITY) % 2 == 0) {
+                    // Rotation: waiting requests are parked and handed to the new instance
+                    controller.recreate();
+                } else {
+                    controller.pause().stop().destroy();
+                    controller = Robolectric.buildActivity(HostActivity.class).setup();
+                }
+                resumed.set(controller.get());
+            }
+        }
+
+        destroyed.add(new WeakReference<>(controller.get()));
+        resumed.set(null);
+        controller.pause().stop().destroy();
+        ShadowLooper.idleMainLooper(FRAME_MS, TimeUnit.MILLISECONDS);
+        assertEquals(0, renderer.hostCount());
+        assertEquals(0, renderer.pooledCount());
+        assertEquals(0, queue.size());
+        assertEquals(0, visible[0]);
+        return destroyed;
+    }
+
+    private static int countReachable(List<WeakReference<Activity>> refs) throws InterruptedException {
+        int reachable = refs.size();
+        for (int attempt = 0; attempt < 10 && reachable > 0; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+            reachable = 0;
+            for (WeakReference<Activity> ref : refs) {
+                if (ref.get() != null) {
+                    reachable++;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Snackbars need a Material theme.
+     */
+    public static final class HostActivity extends Activity {
+        @Override
+        protected void onCreate(Bundle savedInstanceState) {
+            setTheme(com.google.android.material.R.style.Theme_MaterialComponents_Light_NoActionBar);
+            super.onCreate(savedInstanceState);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+import android.content.res.Resources;
+import android.view.View;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM microbenchmarks for the library's own share of a show, one per public overload family.
+ * Run with {@code ./gradlew :CustomSnackbar:benchmark}; the task adds the GC profiler so each
+ * result carries {@code gc.alloc.rate.norm} (bytes allocated per show).
+ * <p>
+ * Each benchmark calls the public {@link CustomSnackbar} overload, so argument conversion,
+ * color and style resolution, the {@link SnackbarPipeline}, the main-thread check and the
+ * queue (or the frame dispatcher, from other threads) are all timed. The JVM has no main
+ * Looper: a benchmark thread is declared the main thread instead, and calls from other
+ * threads are drained on an executor.
+ * <p>
+ * The Activity reports itself finishing, so the renderer turns each request away before
+ * touching a view, and framework calls return defaults: inflation, layout and resource
+ * lookups are not included; those need a device benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnackbarShowBenchmark {
+
+    private static final String MESSAGE = "Changes saved";
+    private static final int TEXT_SIZE_SP = 17;
+    private static final int TEXT_COLOR_RES = 0x7f050001;
+    private static final int BACKGROUND_COLOR_RES = 0x7f050002;
+    private static final int ACTION_COLOR_RES = 0x7f050003;
+    private static final int DURATION = Snackbar.LENGTH_SHORT;
+    private static final Object HANDLE = new Object();
+    private static final View.OnClickListener LISTENER = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+        }
+    };
+
+    private static final SnackbarQueue.Presenter PRESENTER = new SnackbarQueue.Presenter() {
+        @Override
+        public Object show(SnackbarRequest request) {
+            request.resolveMessage();
+            return HANDLE;
+        }
+
+        @Override
+        public void dismiss(Object handle) {
+        }
+
+        @Override
+        public void shorten(Object handle, int durationMs) {
+        }
+    };
+
+    /**
+     * The benchmark thread plays the main thread.
+     */
+    @State(Scope.Thread)
+    public static class MainThread {
+        Activity activity;
+        SnackbarStyle style;
+
+        @Setup
+        public void setUp() {
+            MainThreadFrameScheduler.setMainThread(Thread.currentThread());
+            // Every call shows the same message
+            CustomSnackbar.setQueueConfig(new SnackbarQueue.Config.Builder()
+                    .setDedupeWindowMs(0)
+                    .build());
+            activity = new BenchmarkActivity();
+            style = SnackbarStyle.builder()
+                    .setTextColorRes(TEXT_COLOR_RES)
+                    .setBackgroundColorRes(BACKGROUND_COLOR_RES)
+                    .setActionTextColorRes(ACTION_COLOR_RES)
+                    .setTextSize(TEXT_SIZE_SP)
+                    .build();
+        }
+    }
+
+    /**
+     * A dedicated thread plays the main looper, shared by every benchmark thread: each
+     * scheduled drain of the library's frame dispatcher is one "frame".
+     */
+    @State(Scope.Benchmark)
+    public static class Handoff {
+        Activity activity;
+        private ExecutorService main;
+
+        @Setup
+        public void setUp() throws ExecutionException, InterruptedException {
+            main = Executors.newSingleThreadExecutor();
+            MainThreadFrameScheduler.setMainThread(main.submit(Thread::currentThread).get());
+            main.submit(() -> CustomSnackbar.setQueueConfig(new SnackbarQueue.Config.Builder()
+                    .setDedupeWindowMs(0)
+                    .build())).get();
+            final FrameBatchDispatcher<SnackbarRequest> dispatcher = CustomSnackbar.dispatcher();
+            final Runnable drain = new Runnable() {
+                @Override
+                public void run() {
+                    dispatcher.drain();
+                }
+            };
+            dispatcher.setScheduler(new FrameBatchDispatcher.Scheduler() {
+                @Override
+                public void scheduleDrain() {
+                    main.execute(drain);
+                }
+            });
+            activity = new BenchmarkActivity();
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            main.shutdown();
+            main.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * One queue with a stub presenter, to set the queue's own cost apart.
+     */
+    @State(Scope.Thread)
+    public static class Presented {
+        /**
+         * {@code true}: request goes through {@link SnackbarQueue} (enqueue, shown, dismissed).
+         * {@code false}: request is handed straight to the presenter.
+         */
+        @Param({"true", "false"})
+        public boolean queued;
+
+        SnackbarQueue queue;
+
+        @Setup
+        public void setUp() {
+            queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                    .setDedupeWindowMs(0)
+                    .build(), PRESENTER);
+        }
+    }
+
+    // ========== OVERLOAD FAMILIES ==========
+
+    /**
+     * showSnackbarWithColor(Activity, String, int textSize, int textColor, int backgroundColor, int)
+     */
+    @Benchmark
+    public void color(MainThread main) {
+        CustomSnackbar.showSnackbarWithColor(main.activity, MESSAGE, TEXT_SIZE_SP, 0xFF000000, 0xFF4CAF50, DURATION);
+    }
+
+    /**
+     * showSnackbarWithResources(Activity, String, int textSize, int textColorRes, int backgroundColorRes, int)
+     */
+    @Benchmark
+    public void resources(MainThread main) {
+        CustomSnackbar.showSnackbarWithResources(main.activity, MESSAGE, TEXT_SIZE_SP, TEXT_COLOR_RES,
+                BACKGROUND_COLOR_RES, DURATION);
+    }
+
+    /**
+     * showSnackbar(Activity, String, SnackbarStyle, int) with the style's resolution cached.
+     */
+    @Benchmark
+    public void style(MainThread main) {
+        CustomSnackbar.showSnackbar(main.activity, MESSAGE, main.style, DURATION);
+    }
+
+    /**
+     * showSnackbarWithAction(..., View.OnClickListener, ...)
+     */
+    @Benchmark
+    public void action(MainThread main) {
+        CustomSnackbar.showSnackbarWithAction(main.activity, MESSAGE, TEXT_SIZE_SP, 0xFF000000, 0xFF4CAF50,
+                0xFFFFFFFF, "Undo", LISTENER, DURATION);
+    }
+
+    /**
+     * showSnackbarWithAction(..., Class&lt;?&gt; targetActivity, ...)
+     */
+    @Benchmark
+    public void intentAction(MainThread main) {
+        CustomSnackbar.showSnackbarWithAction(main.activity, MESSAGE, "Open", SnackbarShowBenchmark.class);
+    }
+
+    /**
+     * Color overload called from four background threads at once: the callers' share of the
+     * handoff, including contention on the dispatcher, while the "main" thread drains it.
+     */
+    @Benchmark
+    @Threads(4)
+    public void colorFromBackgroundThread(Handoff handoff) {
+        CustomSnackbar.showSnackbarWithColor(handoff.activity, MESSAGE, TEXT_SIZE_SP, 0xFF000000, 0xFF4CAF50, DURATION);
+    }
+
+    /**
+     * The same prepared request through the queue, or straight to a stub presenter.
+     */
+    @Benchmark
+    public Object requestPath(Presented presented) {
+        SnackbarRequest request = SnackbarRequest.obtain(null, MESSAGE, 44.6f, 0xFF000000, 0xFF4CAF50,
+                SnackbarStyle.DEFAULT_MAX_LINES, DURATION);
+        if (presented.queued) {
+            presented.queue.enqueue(request);
+            presented.queue.onShown(HANDLE);
+            presented.queue.onDismissed(HANDLE, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+            return presented.queue;
+        }
+        Object handle = PRESENTER.show(request);
+        request.recycle();
+        return handle;
+    }
+
+    /**
+     * Resources come from a {@link TestContext}. Finishing, so the renderer drops each request
+     * before inflating anything.
+     */
+    static final class BenchmarkActivity extends Activity {
+        private final TestContext context = new TestContext();
+
+        @Override
+        public Resources getResources() {
+            return context.getResources();
+        }
+
+        @Override
+        public boolean isFinishing() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Style resolution is cached per theme: Activities shown in turn keep their own resolution.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SnackbarStyleTest {
+
+    private static final SnackbarStyle STYLE = SnackbarStyle.builder()
+            .setTextColorRes(android.R.color.white)
+            .setBackgroundColorRes(android.R.color.black)
+            .build();
+
+    @Test
+    public void alternatingActivitiesKeepTheirResolution() {
+        Activity first = Robolectric.buildActivity(Activity.class).setup().get();
+        Activity second = Robolectric.buildActivity(Activity.class).setup().get();
+        SnackbarStyle.Resolved firstResolved = STYLE.resolve(first);
+        SnackbarStyle.Resolved secondResolved = STYLE.resolve(second);
+        assertNotSame(firstResolved, secondResolved);
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(firstResolved, STYLE.resolve(first));
+            assertSame(secondResolved, STYLE.resolve(second));
+        }
+    }
+
+    @Test
+    public void oldestThemeIsReplacedWhenAllAreAlive() {
+        SnackbarStyle style = STYLE.buildUpon().build();
+        Activity[] activities = new Activity[5];
+        SnackbarStyle.Resolved[] resolved = new SnackbarStyle.Resolved[activities.length];
+        for (int i = 0; i < activities.length; i++) {
+            activities[i] = Robolectric.buildActivity(Activity.class).setup().get();
+            resolved[i] = style.resolve(activities[i]);
+        }
+
+        assertNotSame(resolved[0], style.resolve(activities[0]));
+        assertSame(resolved[2], style.resolve(activities[2]));
+        assertSame(resolved[4], style.resolve(activities[4]));
+    }
+
+    @Test
+    public void resourceIdsIdentifyTheStyle() {
+        SnackbarStyle style = SnackbarStyle.builder()
+                .setTextSize(16)
+                .setTextColorRes(android.R.color.white)
+                .setBackgroundColorRes(android.R.color.black)
+                .build();
+        assertTrue(style.hasResources(16, android.R.color.white, android.R.color.black, 0, 0));
+        assertFalse(style.hasResources(17, android.R.color.white, android.R.color.black, 0, 0));
+        assertFalse(style.hasResources(16, android.R.color.black, android.R.color.white, 0, 0));
+    }
+}
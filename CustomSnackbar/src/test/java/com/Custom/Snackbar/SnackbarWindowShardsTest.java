@@ -0,0 +1,259 @@
+package com.Custom.Snackbar;
+
+import android.app.Activity;
+
+import com.google.android.material.snackbar.BaseTransientBottomBar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Per-window queues sharing Material's single on-screen slot.
+ */
+public class SnackbarWindowShardsTest {
+
+    private final List<String> shown = new ArrayList<>();
+    private final List<Object> dismissed = new ArrayList<>();
+    private final List<Integer> shortened = new ArrayList<>();
+    private final int[] drops = new int[SnackbarMetrics.DropReason.values().length];
+    private SnackbarQueue queue;
+    private Object visible;
+    private Activity left;
+    private Activity right;
+
+    @Before
+    public void setUp() {
+        queue = new SnackbarQueue(new SnackbarQueue.Config.Builder()
+                .setCapacity(2)
+                .setPreemptedDurationMs(500)
+                .setPerWindow(true)
+                .build(), new SnackbarQueue.Presenter() {
+            @Override
+            public Object show(SnackbarRequest request) {
+                shown.add(request.resolveMessage().toString());
+                visible = new Object();
+                return visible;
+            }
+
+            @Override
+            public void dismiss(Object handle) {
+                dismissed.add(handle);
+            }
+
+            @Override
+            public void shorten(Object handle, int durationMs) {
+                assertSame(visible, handle);
+                shortened.add(durationMs);
+            }
+        });
+        queue.setMetrics(new SnackbarMetrics() {
+            @Override
+            public void onDropped(DropReason reason, int count) {
+                drops[reason.ordinal()] += count;
+            }
+        });
+        left = new WindowActivity(1);
+        right = new WindowActivity(2);
+    }
+
+    @Test
+    public void windowsTakeTurns() {
+        queue.enqueue(request(left, "l1", 10_000));
+        queue.enqueue(request(left, "l2", 1_000));
+        queue.enqueue(request(right, "r1", 1_000));
+
+        // The long snackbar is cut short as soon as the other window is waiting
+        assertEquals(List.of("l1"), shown);
+        assertEquals(List.of(500), shortened);
+
+        finishVisible();
+        assertEquals(List.of("l1", "r1"), shown);
+        finishVisible();
+        assertEquals(List.of("l1", "r1", "l2"), shown);
+        finishVisible();
+        assertFalse(queue.isShowing());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void singleWindowKeepsFullDuration() {
+        queue.enqueue(request(left, "l1", 10_000));
+        queue.enqueue(request(left, "l2", 1_000));
+
+        assertTrue(shortened.isEmpty());
+        finishVisible();
+        assertEquals(List.of("l1", "l2"), shown);
+    }
+
+    @Test
+    public void capacityAndDedupeArePerWindow() {
+        queue.enqueue(request(left, "l0", 1_000));
+        queue.enqueue(request(left, "l1", 1_000));
+        queue.enqueue(request(left, "l2", 1_000));
+        queue.enqueue(request(left, "l3", 1_000));
+        assertEquals(1, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+
+        // A flood in one window neither evicts nor suppresses the other window's message
+        assertTrue(queue.enqueue(request(right, "l2", 1_000)));
+        assertTrue(queue.enqueue(request(right, "r1", 1_000)));
+        assertEquals(1, drops[SnackbarMetrics.DropReason.OVERFLOW.ordinal()]);
+        assertEquals(0, drops[SnackbarMetrics.DropReason.DUPLICATE.ordinal()]);
+    }
+
+    @Test
+    public void criticalIsNotCutShort() {
+        queue.enqueue(critical(left, "l1"));
+        queue.enqueue(request(right, "r1", 1_000));
+
+        assertTrue(shortened.isEmpty());
+        finishVisible();
+        assertEquals(List.of("l1", "r1"), shown);
+    }
+
+    @Test
+    public void criticalPreemptsShownInSameWindow() {
+        queue.enqueue(request(left, "l1", 10_000));
+        Object normal = visible;
+        queue.enqueue(critical(left, "l2"));
+
+        assertEquals(List.of(normal), dismissed);
+        assertEquals(List.of("l1", "l2"), shown);
+        // Material's late callback for the preempted snackbar is ignored
+        queue.onDismissed(normal, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_CONSECUTIVE);
+        assertTrue(queue.isShowing());
+
+        finishVisible();
+        assertFalse(queue.isShowing());
+        queue.enqueue(request(left, "l3", 1_000));
+        assertEquals(List.of("l1", "l2", "l3"), shown);
+    }
+
+    @Test
+    public void criticalPreemptsPendingInSameWindow() {
+        queue.enqueue(critical(left, "l1"));
+        queue.enqueue(request(right, "r1", 1_000));
+        queue.enqueue(critical(right, "r2"));
+
+        // r1 never reached the screen, so nothing real is dismissed
+        assertTrue(dismissed.isEmpty());
+        finishVisible();
+        assertEquals(List.of("l1", "r2"), shown);
+        finishVisible();
+        assertFalse(queue.isShowing());
+        assertEquals(0, queue.size());
+        queue.enqueue(request(right, "r3", 1_000));
+        assertEquals(List.of("l1", "r2", "r3"), shown);
+    }
+
+    @Test
+    public void criticalPreemptsOtherWindows() {
+        queue.enqueue(request(left, "l1", 10_000));
+        Object normal = visible;
+        queue.enqueue(request(left, "l2", 1_000));
+        queue.enqueue(request(right, "r1", 1_000));
+        queue.enqueue(critical(new WindowActivity(3), "c1"));
+
+        // Shown within the enqueue call, whatever the other windows have on screen
+        assertEquals(List.of("l1", "c1"), shown);
+        assertEquals(List.of(normal), dismissed);
+        queue.onDismissed(normal, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+        assertEquals(List.of("l1", "c1"), shown);
+
+        // The other windows then take their turns in order
+        finishVisible();
+        finishVisible();
+        finishVisible();
+        assertEquals(List.of("l1", "c1", "r1", "l2"), shown);
+    }
+
+    @Test
+    public void criticalWaitsOnlyBehindCritical() {
+        queue.enqueue(critical(left, "l1"));
+        queue.enqueue(request(right, "r1", 1_000));
+        queue.enqueue(critical(new WindowActivity(3), "c1"));
+
+        assertEquals(List.of("l1"), shown);
+        finishVisible();
+        assertEquals(List.of("l1", "c1"), shown);
+        finishVisible();
+        assertEquals(List.of("l1", "c1", "r1"), shown);
+    }
+
+    @Test
+    public void destroyedWindowFreesTheSlot() {
+        queue.enqueue(request(left, "l1", 1_000));
+        queue.enqueue(request(left, "l2", 1_000));
+        queue.enqueue(request(right, "r1", 1_000));
+        Object leftHandle = visible;
+
+        queue.removeAll(left, null);
+
+        assertEquals(List.of(leftHandle), dismissed);
+        assertEquals(1, drops[SnackbarMetrics.DropReason.DESTROYED.ordinal()]);
+        assertEquals(List.of("l1", "r1"), shown);
+        // Material's late callback for the dismissed snackbar is ignored
+        queue.onDismissed(leftHandle, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_MANUAL);
+        assertTrue(queue.isShowing());
+        assertEquals(List.of("l1", "r1"), shown);
+    }
+
+    @Test
+    public void waitingWindowDestroyedLeavesOthersAlone() {
+        queue.enqueue(request(left, "l1", 1_000));
+        queue.enqueue(request(right, "r1", 1_000));
+
+        queue.removeAll(right, null);
+
+        assertTrue(dismissed.isEmpty());
+        finishVisible();
+        assertEquals(List.of("l1"), shown);
+        assertFalse(queue.isShowing());
+    }
+
+    @Test
+    public void configurationChangeRestoresIntoSameWindow() {
+        queue.enqueue(request(left, "l1", 1_000));
+        queue.enqueue(request(left, "l2", 1_000));
+        List<SnackbarRequest> parked = new ArrayList<>();
+
+        queue.removeAll(left, parked);
+        assertEquals(2, parked.size());
+        assertFalse(queue.isShowing());
+
+        queue.restore(parked, new WindowActivity(1));
+        assertEquals(List.of("l1", "l1"), shown);
+        finishVisible();
+        assertEquals(List.of("l1", "l1", "l2"), shown);
+    }
+
+    private void finishVisible() {
+        queue.onDismissed(visible, BaseTransientBottomBar.BaseCallback.DISMISS_EVENT_TIMEOUT);
+    }
+
+    private SnackbarRequest request(Activity activity, String message, int duration) {
+        return SnackbarRequest.obtain(activity, message, 44f, 0xFF000000, 0xFF4CAF50,
+                SnackbarStyle.DEFAULT_MAX_LINES, duration);
+    }
+
+    private SnackbarRequest critical(Activity activity, String message) {
+        return request(activity, message, 10_000).setPriority(SnackbarPriority.CRITICAL);
+    }
+
+    private static final class WindowActivity extends Activity {
+        private final int taskId;
+
+        WindowActivity(int taskId) {
+            this.taskId = taskId;
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.Custom.Snackbar;
+
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+/**
+ * Minimal {@link android.content.Context} for local JVM tests and benchmarks. Relies on
+ * {@code unitTests.returnDefaultValues}: framework methods not overridden here return defaults.
+ */
+class TestContext extends ContextWrapper {
+
+    final Configuration configuration = new Configuration();
+    final DisplayMetrics metrics = new DisplayMetrics();
+    private final Resources resources;
+
+    TestContext() {
+        super(null);
+        configuration.densityDpi = 420;
+        configuration.fontScale = 1f;
+        metrics.density = 2.625f;
+        metrics.scaledDensity = 2.625f;
+        metrics.densityDpi = 420;
+        resources = new Resources(null, metrics, configuration) {
+            @Override
+            public Configuration getConfiguration() {
+                return configuration;
+            }
+
+            @Override
+            public DisplayMetrics getDisplayMetrics() {
+                return metrics;
+            }
+
+            @Override
+            public int getColor(int id) {
+                return 0xFF000000 | id;
+            }
+
+            @Override
+            public int getColor(int id, Theme theme) {
+                return 0xFF000000 | id;
+            }
+        };
+    }
+
+    @Override
+    public Resources getResources() {
+        return resources;
+    }
+}
@@ -0,0 +1,118 @@
+package com.Custom.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Deferred commits of undo snackbars and their batching.
+ */
+public class UndoBufferTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<List<Runnable>> batches = new ArrayList<>();
+    private final List<String> writes = new ArrayList<>();
+    private UndoBuffer buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new UndoBuffer(tasks::add);
+        buffer.setCommitter(operations -> {
+            batches.add(operations);
+            for (Runnable operation : operations) {
+                operation.run();
+            }
+        });
+    }
+
+    @Test
+    public void slowCommitDoesNotBlockTheBackgroundThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        UndoBuffer defaults = new UndoBuffer();
+        defaults.setCommitter(operations -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            committed.countDown();
+        });
+        SnackbarRequest.obtain(null, "a", 44f, 0, 0, 1, 1_000)
+                .setUndo("Undo", defaults.register(() -> {
+                }, null))
+                .recycle();
+
+        // Precompute and history work still runs while the commit is stuck
+        assertEquals("free", SnackbarExecutors.background().submit(() -> "free").get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void consecutiveSnackbarsCommitInOneBatch() {
+        SnackbarRequest first = request("a");
+        SnackbarRequest second = request("b");
+        SnackbarRequest third = request("c");
+
+        // First times out while the others wait: nothing runs while undo is still possible
+        first.recycle();
+        second.recycle();
+        assertTrue(tasks.isEmpty());
+        third.recycle();
+
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(1, batches.size());
+        assertEquals(List.of("a", "b", "c"), writes);
+    }
+
+    @Test
+    public void undoneOperationIsNeverCommitted() {
+        final boolean[] restored = {false};
+        SnackbarRequest kept = request("kept");
+        SnackbarRequest undone = SnackbarRequest.obtain(null, "Deleted", 44f, 0, 0, 1, 1_000)
+                .setUndo("Undo", buffer.register(() -> writes.add("undone"), v -> restored[0] = true));
+
+        undone.clickListener.onClick(null);
+        undone.recycle();
+        kept.recycle();
+
+        assertTrue(restored[0]);
+        tasks.get(0).run();
+        assertEquals(List.of("kept"), writes);
+        assertEquals(0, buffer.outstandingCount());
+    }
+
+    @Test
+    public void identicalUndoMessagesAreNotDuplicates() {
+        SnackbarRequest first = request("a");
+        SnackbarRequest second = request("b");
+        assertFalse(SnackbarRequest.sameKey(first.dedupeKey(), second.dedupeKey()));
+    }
+
+    @Test
+    public void longRunsCommitInBoundedBatches() {
+        List<SnackbarRequest> requests = new ArrayList<>();
+        for (int i = 0; i < UndoBuffer.MAX_BATCH_SIZE + 1; i++) {
+            requests.add(request("w" + i));
+        }
+        for (int i = 0; i < UndoBuffer.MAX_BATCH_SIZE; i++) {
+            requests.get(i).recycle();
+        }
+        assertEquals(1, tasks.size());
+        requests.get(UndoBuffer.MAX_BATCH_SIZE).recycle();
+        assertEquals(2, tasks.size());
+    }
+
+    private SnackbarRequest request(final String write) {
+        return SnackbarRequest.obtain(null, "Deleted", 44f, 0, 0, 1, 1_000)
+                .setUndo("Undo", buffer.register(() -> writes.add(write), null));
+    }
+}